@@ -0,0 +1,98 @@
+package com.example.movie_directors_service.benchmark;
+
+import com.example.movie_directors_service.client.MoviesSource;
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.dto.response.DirectorsResponse;
+import com.example.movie_directors_service.limiter.AdaptiveConcurrencyLimiter;
+import com.example.movie_directors_service.limiter.UpstreamCircuitBreaker;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import com.example.movie_directors_service.service.DirectorCountLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end CPU and allocation cost of the service's hot paths over synthetic catalogs: folding
+ * every page tally into a snapshot (including its threshold index), answering a threshold query, and
+ * building plus serializing the {@link DirectorsResponse} the controller returns. Upstream latency is
+ * left out so only local work is measured. Run with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CatalogAggregationBenchmark {
+
+    private static final int MOVIES_PER_PAGE = 10;
+    private static final long THRESHOLD = 1;
+
+    @Param({"10000", "100000", "1000000"})
+    public int movies;
+
+    private final DirectorDictionary dictionary = new DirectorDictionary(1024);
+    private DirectorCountLoader loader;
+    private DirectorCountSnapshot snapshot;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int pages = movies / MOVIES_PER_PAGE;
+        int directorPool = Math.max(1, movies / 5);
+        Random random = new Random(3);
+        DirectorTallyPage[] tallyPages = new DirectorTallyPage[pages + 1];
+        for (int page = 1; page <= pages; page++) {
+            DirectorTallyPage.Builder builder = DirectorTallyPage.builder(dictionary)
+                    .page(page)
+                    .total(movies)
+                    .totalPages(pages);
+            for (int movie = 0; movie < MOVIES_PER_PAGE; movie++) {
+                // Long tail: a few directors are very prolific, most have one or two movies.
+                int director = (int) (Math.pow(random.nextDouble(), 3) * directorPool);
+                builder.addDirector("Director " + director);
+            }
+            tallyPages[page] = builder.build();
+        }
+
+        MoviesSource upstream = page -> Mono.just(tallyPages[page]);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        loader = new DirectorCountLoader(upstream, dictionary, new AdaptiveConcurrencyLimiter(32, 1, 32, 0.5, 2.0, meterRegistry),
+                new UpstreamCircuitBreaker(5, 30, 1, meterRegistry), false, 3600, meterRegistry);
+        snapshot = loader.loadSnapshot().block();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public DirectorCountSnapshot aggregateCatalog() {
+        return loader.loadSnapshot().block();
+    }
+
+    @Benchmark
+    public List<String> thresholdQuery() {
+        return snapshot.getThresholdIndex().directorsAbove(THRESHOLD);
+    }
+
+    @Benchmark
+    public byte[] serializeDirectorsResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(DirectorsResponse.of(snapshot.getThresholdIndex().directorsAbove(THRESHOLD)));
+    }
+}
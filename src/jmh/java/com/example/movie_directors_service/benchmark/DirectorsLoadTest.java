@@ -0,0 +1,82 @@
+package com.example.movie_directors_service.benchmark;
+
+import com.example.movie_directors_service.MovieDirectorsServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import support.LoadGenerator;
+import support.MoviesApiStub;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Open-loop load test of {@code GET /api/directors} against an instance crawling an embedded
+ * {@link MoviesApiStub}, reporting throughput and p50/p99/p999 latency. Not a JMH benchmark; run it
+ * through the benchmark profile with {@code -Dbenchmark.main} and pass {@code key=value} settings:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.example.movie_directors_service.benchmark.DirectorsLoadTest \
+ *     -Djmh.args="rps=500 seconds=30 pages=1000 latency-ms=20 p99-ms=200 error-rate=0.01"
+ * </pre>
+ * Thresholds cycle through 0 to 9, so responses vary in size. The first request, which triggers the
+ * crawl of the stub, is timed separately and not part of the report.
+ */
+public final class DirectorsLoadTest {
+
+    private DirectorsLoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> settings = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected key=value but got '" + arg + "'");
+            }
+            settings.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int rps = Integer.parseInt(settings.getOrDefault("rps", "500"));
+        int seconds = Integer.parseInt(settings.getOrDefault("seconds", "30"));
+        int warmupSeconds = Integer.parseInt(settings.getOrDefault("warmup-seconds", "5"));
+        Duration medianLatency = Duration.ofMillis(Long.parseLong(settings.getOrDefault("latency-ms", "20")));
+        Duration p99Latency = Duration.ofMillis(Long.parseLong(settings.getOrDefault("p99-ms", "100")));
+
+        try (MoviesApiStub stub = MoviesApiStub.builder()
+                .totalPages(Integer.parseInt(settings.getOrDefault("pages", "1000")))
+                .pageSize(Integer.parseInt(settings.getOrDefault("page-size", "10")))
+                .directors(Integer.parseInt(settings.getOrDefault("directors", "2000")))
+                .latency(medianLatency.isZero() ? MoviesApiStub.Latency.none() : MoviesApiStub.Latency.logNormal(medianLatency, p99Latency))
+                .errorRate(Double.parseDouble(settings.getOrDefault("error-rate", "0")))
+                .start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(MovieDirectorsServiceApplication.class)
+                     .run("--server.port=0",
+                             "--movies.api.base-url=" + stub.baseUrl(),
+                             "--movies.cache.refresh-enabled=false",
+                             "--logging.level.root=WARN")) {
+
+            // spring.webflux.base-path=/api is prepended to the controller's own /api/directors mapping.
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api";
+            long crawlStart = System.nanoTime();
+            HttpResponse<Void> first = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/api/directors?threshold=0")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            System.out.printf("Initial crawl: %d upstream requests (%d failed), HTTP %d after %dms%n",
+                    stub.requestCount(), stub.failureCount(), first.statusCode(), (System.nanoTime() - crawlStart) / 1_000_000);
+
+            LoadGenerator.LoadReport report = LoadGenerator.builder()
+                    .requestsPerSecond(rps)
+                    .warmup(Duration.ofSeconds(warmupSeconds))
+                    .duration(Duration.ofSeconds(seconds))
+                    .build()
+                    .run(n -> URI.create(baseUrl + "/api/directors?threshold=" + n % 10));
+            System.out.println(report);
+        }
+    }
+}
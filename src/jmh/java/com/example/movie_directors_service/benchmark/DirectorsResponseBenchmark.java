@@ -0,0 +1,94 @@
+package com.example.movie_directors_service.benchmark;
+
+import com.example.movie_directors_service.MovieDirectorsServiceApplication;
+import com.example.movie_directors_service.cache.DirectorSnapshotCache;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code GET /api/directors?threshold=1} round trip against a running instance whose cache holds
+ * a synthetic snapshot. The server runs in the benchmark JVM, so {@code -prof gc} reports what the
+ * server and the client together allocate per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DirectorsResponseBenchmark {
+
+    @Param({"1000", "50000"})
+    public int directors;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(MovieDirectorsServiceApplication.class)
+                .run("--server.port=0",
+                        "--movies.cache.refresh-enabled=false",
+                        "--movies.cache.ttl-seconds=86400",
+                        "--logging.level.root=WARN");
+
+        Random random = new Random(7);
+        Map<String, Long> counts = new HashMap<>();
+        while (counts.size() < directors) {
+            long movies = 1L + (long) Math.floor(Math.pow(random.nextDouble(), 8) * 60);
+            counts.put("Director " + Long.toHexString(random.nextLong()), movies);
+        }
+        if (!context.getBean(DirectorSnapshotCache.class).seed(DirectorCountSnapshot.of(counts, Instant.now()))) {
+            throw new IllegalStateException("Snapshot cache was already loaded");
+        }
+
+        // spring.webflux.base-path=/api is prepended to the controller's own /api/directors mapping.
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/directors?threshold=1"))
+                .header("Accept", "application/json")
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            context.close();
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] directorsAboveThreshold() throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+}
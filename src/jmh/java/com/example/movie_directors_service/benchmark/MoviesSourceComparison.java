@@ -0,0 +1,155 @@
+package com.example.movie_directors_service.benchmark;
+
+import com.example.movie_directors_service.client.MoviesApiClient;
+import com.example.movie_directors_service.client.MoviesSource;
+import com.example.movie_directors_service.client.VirtualThreadMoviesClient;
+import com.example.movie_directors_service.limiter.AdaptiveConcurrencyLimiter;
+import com.example.movie_directors_service.limiter.RequestHedger;
+import com.example.movie_directors_service.limiter.UpstreamCircuitBreaker;
+import com.example.movie_directors_service.limiter.UpstreamRateLimiter;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import com.example.movie_directors_service.service.DirectorCountLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import support.MoviesApiStub;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Crawls an embedded {@link MoviesApiStub} through each {@link MoviesSource} engine in turn and
+ * reports crawl throughput, crawl and page latency, and process CPU time per upstream request. Not
+ * a JMH benchmark; run it through the benchmark profile with {@code -Dbenchmark.main} and pass
+ * {@code key=value} settings:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.example.movie_directors_service.benchmark.MoviesSourceComparison \
+ *     -Djmh.args="pages=500 latency-ms=20 p99-ms=100 concurrency=32 crawls=10"
+ * </pre>
+ * Each engine gets its own {@link DirectorCountLoader} with the concurrency limit pinned at
+ * {@code concurrency}, no rate limit and no hedging, so the engines see the same fan-out. The stub
+ * runs in the same process, so the CPU figure includes serving the page as well as fetching it.
+ */
+public final class MoviesSourceComparison {
+
+    private MoviesSourceComparison() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> settings = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected key=value but got '" + arg + "'");
+            }
+            settings.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int concurrency = Integer.parseInt(settings.getOrDefault("concurrency", "32"));
+        int warmupCrawls = Integer.parseInt(settings.getOrDefault("warmup-crawls", "3"));
+        int crawls = Integer.parseInt(settings.getOrDefault("crawls", "10"));
+        Duration medianLatency = Duration.ofMillis(Long.parseLong(settings.getOrDefault("latency-ms", "20")));
+        Duration p99Latency = Duration.ofMillis(Long.parseLong(settings.getOrDefault("p99-ms", "100")));
+
+        try (MoviesApiStub stub = MoviesApiStub.builder()
+                .totalPages(Integer.parseInt(settings.getOrDefault("pages", "500")))
+                .pageSize(Integer.parseInt(settings.getOrDefault("page-size", "10")))
+                .directors(Integer.parseInt(settings.getOrDefault("directors", "2000")))
+                .latency(medianLatency.isZero() ? MoviesApiStub.Latency.none() : MoviesApiStub.Latency.logNormal(medianLatency, p99Latency))
+                .start()) {
+            for (String engine : settings.getOrDefault("engines", "webclient,virtual-threads").split(",")) {
+                MeterRegistry meterRegistry = new SimpleMeterRegistry();
+                RequestHedger hedger = new RequestHedger(false, 0.95, 50, 0.05, meterRegistry);
+                UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(false, 100, 20, 5000, 1000, meterRegistry);
+                DirectorDictionary dictionary = new DirectorDictionary(1024);
+                MoviesSource engineSource = switch (engine) {
+                    case "webclient" -> new MoviesApiClient(WebClient.builder(), stub.baseUrl(), 30, 0, 0, 0,
+                            dictionary, meterRegistry, hedger, rateLimiter);
+                    case "virtual-threads" -> new VirtualThreadMoviesClient(stub.baseUrl(), 30, 0, 0, 0, 5000, false,
+                            dictionary, meterRegistry, hedger, rateLimiter);
+                    default -> throw new IllegalArgumentException("Unknown engine '" + engine + "'");
+                };
+                PageTimings pageTimings = new PageTimings();
+                DirectorCountLoader loader = new DirectorCountLoader(pageTimings.around(engineSource), dictionary,
+                        new AdaptiveConcurrencyLimiter(concurrency, concurrency, concurrency, 0.5, 2.0, meterRegistry),
+                        new UpstreamCircuitBreaker(Integer.MAX_VALUE, 30, 1, meterRegistry),
+                        false, 3600,
+                        meterRegistry);
+                try {
+                    for (int i = 0; i < warmupCrawls; i++) {
+                        loader.loadSnapshot().block();
+                    }
+                    pageTimings.reset();
+                    System.out.println(run(engine, loader, stub, pageTimings, crawls));
+                } finally {
+                    if (engineSource instanceof VirtualThreadMoviesClient virtualThreads) {
+                        virtualThreads.close();
+                    }
+                }
+            }
+        }
+    }
+
+    private static String run(String engine, DirectorCountLoader loader, MoviesApiStub stub, PageTimings pageTimings,
+                              int crawls) {
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        List<Long> crawlNanos = new ArrayList<>();
+        long requestsBefore = stub.requestCount();
+        long cpuBefore = os.getProcessCpuTime();
+        long startedAt = System.nanoTime();
+        int pagesFetched = 0;
+        for (int i = 0; i < crawls; i++) {
+            long crawlStart = System.nanoTime();
+            DirectorCountSnapshot snapshot = loader.loadSnapshot().block();
+            crawlNanos.add(System.nanoTime() - crawlStart);
+            pagesFetched += snapshot.getCoverage().pagesFetched();
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        long requests = stub.requestCount() - requestsBefore;
+        long cpuNanos = os.getProcessCpuTime() - cpuBefore;
+        Collections.sort(crawlNanos);
+        List<Long> pageNanos = pageTimings.sorted();
+        return String.format("%-16s %6.2f crawls/s %8.0f pages/s | crawl p50 %5dms p99 %5dms | page p50 %6.1fms p99 %6.1fms | cpu %5.0fus/request",
+                engine, crawls / seconds, pagesFetched / seconds,
+                percentile(crawlNanos, 0.50) / 1_000_000, percentile(crawlNanos, 0.99) / 1_000_000,
+                percentile(pageNanos, 0.50) / 1e6, percentile(pageNanos, 0.99) / 1e6,
+                requests == 0 ? 0.0 : cpuNanos / 1e3 / requests);
+    }
+
+    private static long percentile(List<Long> sorted, double quantile) {
+        return sorted.isEmpty() ? 0 : sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(quantile * sorted.size()) - 1));
+    }
+
+    /**
+     * Records how long each page took from subscription to its tally arriving.
+     */
+    private static final class PageTimings {
+
+        private final List<Long> nanos = Collections.synchronizedList(new ArrayList<>());
+
+        MoviesSource around(MoviesSource source) {
+            return page -> Mono.defer(() -> {
+                long startedAt = System.nanoTime();
+                return source.fetchDirectorTallyPage(page).doOnSuccess(tally -> nanos.add(System.nanoTime() - startedAt));
+            });
+        }
+
+        void reset() {
+            nanos.clear();
+        }
+
+        List<Long> sorted() {
+            List<Long> copy = new ArrayList<>(nanos);
+            Collections.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.movie_directors_service.benchmark;
+
+import com.example.movie_directors_service.client.DirectorTallyPageDecoder;
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.dto.response.MoviesPageResponse;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import com.example.movie_directors_service.model.Movie;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Decoding cost of one upstream movies page: Jackson data binding into {@link MoviesPageResponse}
+ * (what {@code bodyToMono(MoviesPageResponse.class)} does) versus the director-only token-stream
+ * decoder. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageDecodingBenchmark {
+
+    private static final ResolvableType MOVIES_PAGE = ResolvableType.forClass(MoviesPageResponse.class);
+    private static final ResolvableType TALLY_PAGE = ResolvableType.forClass(DirectorTallyPage.class);
+
+    @Param({"10", "100"})
+    public int moviesPerPage;
+
+    private final DirectorDictionary dictionary = new DirectorDictionary(1024);
+    private byte[] pageJson;
+    private Jackson2JsonDecoder databindDecoder;
+    private DirectorTallyPageDecoder tallyDecoder;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        databindDecoder = new Jackson2JsonDecoder(objectMapper);
+        tallyDecoder = new DirectorTallyPageDecoder(new JsonFactory(), dictionary);
+
+        List<Movie> movies = IntStream.range(0, moviesPerPage)
+                .mapToObj(index -> Movie.builder()
+                        .title("Movie title number " + index)
+                        .year(1990 + index % 30)
+                        .rated("PG-13")
+                        .released("16 Jul 2010")
+                        .runtime((90 + index % 60) + " min")
+                        .genre("Action, Adventure, Sci-Fi")
+                        .director("Director " + index % 7)
+                        .writer("Writer " + index + ", Co-writer " + index)
+                        .actors("Leading Actor " + index + ", Supporting Actor " + index + ", Cameo " + index)
+                        .build())
+                .toList();
+
+        pageJson = objectMapper.writeValueAsBytes(MoviesPageResponse.builder()
+                .page(1)
+                .perPage(moviesPerPage)
+                .total(moviesPerPage * 100)
+                .totalPages(100)
+                .data(movies)
+                .build());
+    }
+
+    @Benchmark
+    public Object jacksonDatabind() {
+        return databindDecoder.decode(buffer(), MOVIES_PAGE, MediaType.APPLICATION_JSON, Map.of());
+    }
+
+    @Benchmark
+    public DirectorTallyPage directorTallyStreaming() {
+        return tallyDecoder.decode(buffer(), TALLY_PAGE, MediaType.APPLICATION_JSON, Map.of());
+    }
+
+    private DataBuffer buffer() {
+        return DefaultDataBufferFactory.sharedInstance.wrap(pageJson);
+    }
+}
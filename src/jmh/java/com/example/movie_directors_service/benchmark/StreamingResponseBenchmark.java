@@ -0,0 +1,145 @@
+package com.example.movie_directors_service.benchmark;
+
+import com.example.movie_directors_service.MovieDirectorsServiceApplication;
+import com.example.movie_directors_service.cache.DirectorSnapshotCache;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first byte and to the last byte of a threshold query over HTTP against a running instance
+ * whose cache holds a synthetic snapshot: the buffered {@code GET /api/directors} JSON document versus
+ * the NDJSON stream of {@code GET /api/directors/stream}. The threshold is 0, so every director is in
+ * the answer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamingResponseBenchmark {
+
+    @Param({"1000", "50000"})
+    public int directors;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest bufferedRequest;
+    private HttpRequest streamedRequest;
+    private InputStream pendingBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(MovieDirectorsServiceApplication.class)
+                .run("--server.port=0",
+                        "--movies.cache.refresh-enabled=false",
+                        "--movies.cache.ttl-seconds=86400",
+                        "--logging.level.root=WARN");
+
+        Random random = new Random(7);
+        Map<String, Long> counts = new HashMap<>();
+        while (counts.size() < directors) {
+            long movies = 1L + (long) Math.floor(Math.pow(random.nextDouble(), 8) * 60);
+            counts.put("Director " + Long.toHexString(random.nextLong()), movies);
+        }
+        if (!context.getBean(DirectorSnapshotCache.class).seed(DirectorCountSnapshot.of(counts, Instant.now()))) {
+            throw new IllegalStateException("Snapshot cache was already loaded");
+        }
+
+        // spring.webflux.base-path=/api is prepended to the controller's own /api/directors mapping.
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        bufferedRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/directors?threshold=0"))
+                .header("Accept", "application/json")
+                .build();
+        streamedRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/directors/stream?threshold=0"))
+                .header("Accept", "application/x-ndjson")
+                .build();
+        for (HttpRequest request : new HttpRequest[] {bufferedRequest, streamedRequest}) {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                context.close();
+                throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int bufferedFirstByte() throws IOException, InterruptedException {
+        return firstByte(bufferedRequest);
+    }
+
+    @Benchmark
+    public int streamedFirstByte() throws IOException, InterruptedException {
+        return firstByte(streamedRequest);
+    }
+
+    @Benchmark
+    public long bufferedLastByte() throws IOException, InterruptedException {
+        return drain(bufferedRequest);
+    }
+
+    @Benchmark
+    public long streamedLastByte() throws IOException, InterruptedException {
+        return drain(streamedRequest);
+    }
+
+    /**
+     * Reads the rest of a body left open by a first-byte measurement, outside the timed region, so
+     * the next request does not compete with its transfer.
+     */
+    @TearDown(Level.Invocation)
+    public void drainPendingBody() throws IOException {
+        if (pendingBody != null) {
+            try (InputStream body = pendingBody) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            pendingBody = null;
+        }
+    }
+
+    private int firstByte(HttpRequest request) throws IOException, InterruptedException {
+        pendingBody = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream()).body();
+        return pendingBody.read();
+    }
+
+    private long drain(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            return body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.movie_directors_service.benchmark;
+
+import com.example.movie_directors_service.model.DirectorThresholdIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-request cost of answering a threshold query: the previous filter-and-sort over the whole
+ * director map versus a lookup in the snapshot's {@link DirectorThresholdIndex}. Movie counts follow
+ * a long-tail distribution where most directors have a single movie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThresholdQueryBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int directors;
+
+    @Param({"0", "1", "5"})
+    public long threshold;
+
+    private Map<String, Long> directorCounts;
+    private DirectorThresholdIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        directorCounts = new HashMap<>();
+        while (directorCounts.size() < directors) {
+            long movies = 1L + (long) Math.floor(Math.pow(random.nextDouble(), 8) * 60);
+            directorCounts.put("Director " + Long.toHexString(random.nextLong()), movies);
+        }
+        index = DirectorThresholdIndex.of(directorCounts);
+    }
+
+    @Benchmark
+    public List<String> streamFilterAndSort() {
+        return directorCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() > threshold)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> thresholdIndex() {
+        return index.directorsAbove(threshold);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.movie_directors_service.benchmark;
+
+import com.example.movie_directors_service.model.DirectorThresholdIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of a top-k query: sorting the whole director map, keeping a bounded min-heap of k entries,
+ * and walking the snapshot's {@link DirectorThresholdIndex} buckets from the highest count down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopDirectorsBenchmark {
+
+    private static final Comparator<Map.Entry<String, Long>> MOST_PROLIFIC_FIRST =
+            Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    @Param({"10000", "50000"})
+    public int directors;
+
+    @Param({"20", "1000"})
+    public int k;
+
+    private Map<String, Long> directorCounts;
+    private DirectorThresholdIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        directorCounts = new HashMap<>();
+        while (directorCounts.size() < directors) {
+            long movies = 1L + (long) Math.floor(Math.pow(random.nextDouble(), 8) * 60);
+            directorCounts.put("Director " + Long.toHexString(random.nextLong()), movies);
+        }
+        index = DirectorThresholdIndex.of(directorCounts);
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Long>> fullSort() {
+        return directorCounts.entrySet().stream()
+                .sorted(MOST_PROLIFIC_FIRST)
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Long>> boundedMinHeap() {
+        Comparator<Map.Entry<String, Long>> leastProlificFirst = MOST_PROLIFIC_FIRST.reversed();
+        PriorityQueue<Map.Entry<String, Long>> heap = new PriorityQueue<>(k, leastProlificFirst);
+        for (Map.Entry<String, Long> entry : directorCounts.entrySet()) {
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (leastProlificFirst.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        List<Map.Entry<String, Long>> top = new ArrayList<>(heap);
+        top.sort(MOST_PROLIFIC_FIRST);
+        return top;
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Long>> thresholdIndex() {
+        return index.top(k);
+    }
+}
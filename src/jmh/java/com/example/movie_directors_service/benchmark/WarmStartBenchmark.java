@@ -0,0 +1,111 @@
+package com.example.movie_directors_service.benchmark;
+
+import com.example.movie_directors_service.cache.DirectorSnapshotCache;
+import com.example.movie_directors_service.cache.DirectorSnapshotFileStore;
+import com.example.movie_directors_service.client.MoviesSource;
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.limiter.AdaptiveConcurrencyLimiter;
+import com.example.movie_directors_service.limiter.UpstreamCircuitBreaker;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import com.example.movie_directors_service.service.DirectorCountLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from a freshly started instance to its first answered threshold query: crawling the catalog
+ * from a simulated upstream (cold) versus seeding the cache from a persisted snapshot file (warm).
+ * Each invocation builds a new cache, which is the state a restarted pod is in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WarmStartBenchmark {
+
+    private static final int MOVIES_PER_PAGE = 10;
+
+    @Param({"2000"})
+    public int pages;
+
+    @Param({"50000"})
+    public int directors;
+
+    @Param({"20"})
+    public long pageLatencyMillis;
+
+    private final DirectorDictionary dictionary = new DirectorDictionary(1024);
+    private DirectorTallyPage[] tallyPages;
+    private Path snapshotFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Random random = new Random(11);
+        tallyPages = new DirectorTallyPage[pages + 1];
+        for (int page = 1; page <= pages; page++) {
+            DirectorTallyPage.Builder builder = DirectorTallyPage.builder(dictionary)
+                    .page(page)
+                    .total(pages * MOVIES_PER_PAGE)
+                    .totalPages(pages);
+            for (int movie = 0; movie < MOVIES_PER_PAGE; movie++) {
+                builder.addDirector("Director " + random.nextInt(directors));
+            }
+            tallyPages[page] = builder.build();
+        }
+
+        snapshotFile = Files.createTempDirectory("warm-start").resolve("director-snapshot.bin");
+        DirectorCountSnapshot crawled = newCache().refresh().block();
+        new DirectorSnapshotFileStore(newCache(), snapshotFile.toString(), 86_400).write(crawled);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(snapshotFile.getParent());
+    }
+
+    @Benchmark
+    public Object coldStart() {
+        return newCache().get().block().getThresholdIndex().directorsAbove(1);
+    }
+
+    @Benchmark
+    public Object warmStartFromSnapshotFile() {
+        DirectorSnapshotCache cache = newCache();
+        DirectorSnapshotFileStore store = new DirectorSnapshotFileStore(cache, snapshotFile.toString(), 86_400);
+        store.start();
+        try {
+            return cache.get().block().getThresholdIndex().directorsAbove(1);
+        } finally {
+            store.stop();
+        }
+    }
+
+    private DirectorSnapshotCache newCache() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MoviesSource upstream = page -> Mono.just(tallyPages[page]).delayElement(Duration.ofMillis(pageLatencyMillis));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 1, 32, 0.5, 2.0, meterRegistry);
+        return new DirectorSnapshotCache(new DirectorCountLoader(upstream, dictionary, limiter, new UpstreamCircuitBreaker(5, 30, 1, meterRegistry), false, 3600, meterRegistry), 300, meterRegistry);
+    }
+}
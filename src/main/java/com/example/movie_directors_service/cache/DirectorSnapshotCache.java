@@ -0,0 +1,199 @@
+package com.example.movie_directors_service.cache;
+
+import com.example.movie_directors_service.model.CatalogCoverage;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import com.example.movie_directors_service.service.DirectorCountLoader;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the latest director-count snapshot in memory and only goes back to the upstream catalog
+ * once it is older than {@code movies.cache.ttl-seconds}.
+ * <p>
+ * A new snapshot replaces the previous one atomically, and a failed load never evicts the snapshot
+ * that is already being served. Neither does a partial load while the current snapshot is complete
+ * and fresh. Concurrent callers that need a reload share a single in-flight upstream load; the
+ * number of callers that joined each load is published as {@code movies.cache.load.joiners}.
+ * <p>
+ * The cache can be seeded with a snapshot restored from elsewhere (such as a file written by a
+ * previous run). A seeded snapshot is served even past its TTL, with a background reload started
+ * instead of making the caller wait, until the first upstream load replaces it. A snapshot taken
+ * from a peer instance is bootstrapped instead, and ages like one loaded here.
+ */
+@Slf4j
+@Component
+public class DirectorSnapshotCache {
+
+    private final DirectorCountLoader loader;
+    private final Duration ttl;
+    private final DistributionSummary loadJoiners;
+    private final AtomicReference<DirectorCountSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<InFlightLoad> inFlight = new AtomicReference<>();
+    private final Sinks.Many<DirectorCountSnapshot> loaded = Sinks.many().multicast().directBestEffort();
+    private volatile DirectorCountSnapshot seed;
+
+    public DirectorSnapshotCache(
+            DirectorCountLoader loader,
+            @Value("${movies.cache.ttl-seconds:300}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.loadJoiners = DistributionSummary.builder("movies.cache.load.joiners")
+                .description("Callers that joined an already in-flight snapshot load instead of starting their own")
+                .register(meterRegistry);
+    }
+
+    public Mono<DirectorCountSnapshot> get() {
+        return Mono.defer(() -> {
+            DirectorCountSnapshot snapshot = current.get();
+            if (snapshot != null && !snapshot.isExpired(ttl, Instant.now())) {
+                return Mono.just(snapshot);
+            }
+            if (snapshot != null && snapshot == seed) {
+                if (inFlight.get() == null) {
+                    refresh().subscribe(fresh -> { }, error -> log.warn("Background reload of seeded director snapshot failed", error));
+                }
+                return Mono.just(snapshot);
+            }
+            return refresh();
+        });
+    }
+
+    /**
+     * Installs {@code snapshot} if nothing has been loaded yet. Returns whether it was installed.
+     */
+    public boolean seed(DirectorCountSnapshot snapshot) {
+        if (current.compareAndSet(null, snapshot)) {
+            seed = snapshot;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Installs {@code snapshot}, obtained from a peer instance, as if it had been loaded here: it
+     * expires with its own TTL like any loaded snapshot. It only takes the place of nothing or of an
+     * older seeded snapshot. Returns whether it was installed.
+     */
+    public boolean bootstrap(DirectorCountSnapshot snapshot) {
+        while (true) {
+            DirectorCountSnapshot existing = current.get();
+            if (existing != null && (existing != seed || !snapshot.getCreatedAt().isAfter(existing.getCreatedAt()))) {
+                return false;
+            }
+            if (current.compareAndSet(existing, snapshot)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The snapshot currently served, without loading one or checking its age.
+     */
+    public Optional<DirectorCountSnapshot> peek() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Whether {@code snapshot} is the one installed by {@link #seed(DirectorCountSnapshot)}.
+     */
+    public boolean isSeed(DirectorCountSnapshot snapshot) {
+        return snapshot == seed;
+    }
+
+    /**
+     * Snapshots produced by upstream loads, as they are swapped in. Fallbacks to the previous snapshot
+     * and seeded snapshots are not emitted.
+     */
+    public Flux<DirectorCountSnapshot> loadedSnapshots() {
+        return loaded.asFlux();
+    }
+
+    /**
+     * Rebuilds the snapshot from upstream, joining the load that is already running if there is one.
+     * When the rebuild fails the previous snapshot, if any, is emitted instead so callers keep being
+     * served stale data rather than an error.
+     */
+    public Mono<DirectorCountSnapshot> refresh() {
+        return Mono.defer(() -> {
+            while (true) {
+                InFlightLoad load = inFlight.get();
+                if (load != null) {
+                    load.joiners.incrementAndGet();
+                    return load.result.asMono();
+                }
+                InFlightLoad candidate = new InFlightLoad();
+                if (inFlight.compareAndSet(null, candidate)) {
+                    candidate.start();
+                    return candidate.result.asMono();
+                }
+            }
+        });
+    }
+
+    private Mono<DirectorCountSnapshot> loadOrFallBack() {
+        return loader.loadSnapshot()
+                .map(this::install)
+                .onErrorResume(error -> {
+                    DirectorCountSnapshot previous = current.get();
+                    if (previous == null) {
+                        return Mono.error(error);
+                    }
+                    log.warn("Director snapshot refresh failed, keeping snapshot from {}", previous.getCreatedAt(), error);
+                    return Mono.just(previous);
+                });
+    }
+
+    /**
+     * Swaps in a freshly loaded snapshot, unless it is partial and the current snapshot is complete
+     * and still within its TTL, and returns the snapshot that ends up being served.
+     */
+    private DirectorCountSnapshot install(DirectorCountSnapshot loadedSnapshot) {
+        DirectorCountSnapshot previous = current.get();
+        CatalogCoverage loadedCoverage = loadedSnapshot.getCoverage();
+        if (!loadedCoverage.isComplete() && previous != null && previous.getCoverage().isComplete()
+                && !previous.isExpired(ttl, Instant.now())) {
+            log.warn("Keeping complete director snapshot from {} over partial reload ({} of {} pages)",
+                    previous.getCreatedAt(), loadedCoverage.pagesFetched(), loadedCoverage.totalPages());
+            return previous;
+        }
+        current.set(loadedSnapshot);
+        loaded.tryEmitNext(loadedSnapshot);
+        return loadedSnapshot;
+    }
+
+    /**
+     * One upstream load shared by every caller that arrives while it runs. The load is subscribed
+     * independently of its callers, so a caller cancelling never aborts it for the others.
+     */
+    private final class InFlightLoad {
+
+        private final Sinks.One<DirectorCountSnapshot> result = Sinks.one();
+        private final AtomicInteger joiners = new AtomicInteger();
+
+        private void start() {
+            loadOrFallBack()
+                    .doFinally(signal -> finish())
+                    .subscribe(result::tryEmitValue, result::tryEmitError, result::tryEmitEmpty);
+        }
+
+        private void finish() {
+            inFlight.compareAndSet(this, null);
+            int joined = joiners.get();
+            loadJoiners.record(joined);
+            log.debug("Director snapshot load finished with {} joined callers", joined);
+        }
+    }
+}
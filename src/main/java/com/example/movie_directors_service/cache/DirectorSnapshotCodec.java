@@ -0,0 +1,155 @@
+package com.example.movie_directors_service.cache;
+
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary form of a {@link DirectorCountSnapshot}.
+ * <p>
+ * Layout, big-endian: magic {@code MDSS}, format version (short), reserved (short), creation time in
+ * epoch millis (long), pages fetched (int), total pages (int), director count (int), then one entry
+ * per director in name order and finally a CRC32 of everything before it (int). Names form a
+ * front-coded dictionary: each entry stores how many UTF-8 bytes it shares with the previous name,
+ * the remaining bytes, and the movie count, all lengths and counts as unsigned varints.
+ */
+public final class DirectorSnapshotCodec {
+
+    public static final int MAGIC = 0x4D445353;
+    public static final short FORMAT_VERSION = 2;
+    public static final String MEDIA_TYPE = "application/vnd.movie-directors.snapshot";
+
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 8 + 4 + 4 + 4;
+    private static final int CHECKSUM_BYTES = 4;
+
+    private DirectorSnapshotCodec() {
+    }
+
+    public static byte[] encode(DirectorCountSnapshot snapshot) {
+        Map<String, Long> counts = snapshot.getDirectorCounts();
+        String[] names = counts.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_BYTES + names.length * 16);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putShort(FORMAT_VERSION)
+                .putShort((short) 0)
+                .putLong(snapshot.getCreatedAt().toEpochMilli())
+                .putInt(snapshot.getCoverage().pagesFetched())
+                .putInt(snapshot.getCoverage().totalPages())
+                .putInt(names.length);
+        out.writeBytes(header.array());
+
+        byte[] previous = new byte[0];
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            int shared = Arrays.mismatch(previous, bytes);
+            if (shared < 0) {
+                shared = bytes.length;
+            }
+            writeVarint(out, shared);
+            writeVarint(out, bytes.length - shared);
+            out.write(bytes, shared, bytes.length - shared);
+            writeVarint(out, counts.get(name));
+            previous = bytes;
+        }
+
+        CRC32 crc = new CRC32();
+        byte[] body = out.toByteArray();
+        crc.update(body);
+        return ByteBuffer.allocate(body.length + CHECKSUM_BYTES)
+                .put(body)
+                .putInt((int) crc.getValue())
+                .array();
+    }
+
+    /**
+     * Decodes a snapshot from {@code buffer}'s remaining bytes without changing its position.
+     *
+     * @throws IllegalArgumentException if the bytes are not a snapshot of a supported version or the
+     *                                  checksum does not match
+     */
+    public static DirectorCountSnapshot decode(ByteBuffer buffer) {
+        ByteBuffer in = buffer.duplicate();
+        if (in.remaining() < HEADER_BYTES + CHECKSUM_BYTES) {
+            throw new IllegalArgumentException("Director snapshot is truncated");
+        }
+        int checksumAt = in.limit() - CHECKSUM_BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(in.duplicate().limit(checksumAt));
+        if ((int) crc.getValue() != in.getInt(checksumAt)) {
+            throw new IllegalArgumentException("Director snapshot checksum mismatch");
+        }
+        in.limit(checksumAt);
+
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a director snapshot");
+        }
+        short version = in.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported director snapshot format version " + version);
+        }
+        in.getShort();
+        Instant createdAt = Instant.ofEpochMilli(in.getLong());
+        int pagesFetched = in.getInt();
+        int totalPages = in.getInt();
+        int entries = in.getInt();
+        // Every entry takes at least one byte, so a count beyond what is left cannot be honest and is
+        // rejected before it sizes the map.
+        if (entries < 0 || entries > in.remaining()) {
+            throw new IllegalArgumentException("Director snapshot declares " + entries + " entries in "
+                    + in.remaining() + " bytes");
+        }
+
+        try {
+            Map<String, Long> counts = HashMap.newHashMap(entries);
+            byte[] name = new byte[64];
+            int nameLength = 0;
+            for (int i = 0; i < entries; i++) {
+                int shared = (int) readVarint(in);
+                int suffix = (int) readVarint(in);
+                if (shared < 0 || shared > nameLength || suffix < 0 || suffix > in.remaining()) {
+                    throw new IllegalArgumentException("Director snapshot entry " + i + " is corrupt");
+                }
+                nameLength = shared + suffix;
+                if (nameLength > name.length) {
+                    name = Arrays.copyOf(name, Math.max(nameLength, name.length * 2));
+                }
+                in.get(name, shared, suffix);
+                counts.put(new String(name, 0, nameLength, StandardCharsets.UTF_8), readVarint(in));
+            }
+            return DirectorCountSnapshot.of(counts, pagesFetched, totalPages, createdAt);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Director snapshot is truncated or corrupt", e);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Director snapshot contains a malformed varint");
+    }
+}
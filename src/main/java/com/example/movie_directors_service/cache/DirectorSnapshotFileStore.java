@@ -0,0 +1,112 @@
+package com.example.movie_directors_service.cache;
+
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Persists every freshly loaded director-count snapshot to a local file in
+ * {@link DirectorSnapshotCodec} format, and seeds the cache from that file when the application
+ * starts, so a restarted instance answers from the previous run's snapshot while the first crawl
+ * revalidates it in the background.
+ * <p>
+ * Files older than {@code movies.cache.snapshot-file.max-age-seconds}, unreadable files and files of
+ * another format version are ignored and the instance starts cold.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "movies.cache.snapshot-file.enabled", havingValue = "true")
+public class DirectorSnapshotFileStore {
+
+    private final DirectorSnapshotCache snapshotCache;
+    private final Path path;
+    private final Duration maxAge;
+    private Disposable writes;
+
+    public DirectorSnapshotFileStore(
+            DirectorSnapshotCache snapshotCache,
+            @Value("${movies.cache.snapshot-file.path:data/director-snapshot.bin}") String path,
+            @Value("${movies.cache.snapshot-file.max-age-seconds:86400}") long maxAgeSeconds) {
+        this.snapshotCache = snapshotCache;
+        this.path = Path.of(path);
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+    }
+
+    /**
+     * Runs while the context is being built, before the web server accepts requests and before the
+     * refresher starts its first crawl.
+     */
+    @PostConstruct
+    public void start() {
+        read().filter(snapshot -> !snapshot.isExpired(maxAge, Instant.now()))
+                .ifPresent(snapshot -> {
+                    if (snapshotCache.seed(snapshot)) {
+                        log.info("Seeded director snapshot from {} ({} directors, created {})",
+                                path, snapshot.getDirectorCounts().size(), snapshot.getCreatedAt());
+                    }
+                });
+        writes = snapshotCache.loadedSnapshots()
+                .onBackpressureLatest()
+                .concatMap(snapshot -> Mono.fromRunnable(() -> write(snapshot))
+                        .subscribeOn(Schedulers.boundedElastic()), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writes != null) {
+            writes.dispose();
+        }
+    }
+
+    public Optional<DirectorCountSnapshot> read() {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return Optional.of(DirectorSnapshotCodec.decode(mapped));
+        } catch (NoSuchFileException e) {
+            log.info("No director snapshot at {}, starting cold", path);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring unreadable director snapshot at {}", path, e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Replaces the file atomically, so a crash mid-write leaves the previous snapshot intact.
+     */
+    public void write(DirectorCountSnapshot snapshot) {
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporary, DirectorSnapshotCodec.encode(snapshot));
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            log.debug("Persisted director snapshot from {} to {}", snapshot.getCreatedAt(), path);
+        } catch (IOException e) {
+            log.warn("Failed to persist director snapshot to {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.movie_directors_service.cache;
+
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Starts a new instance from the snapshot a running peer serves at
+ * {@code GET /api/directors/snapshot}, so adding a replica does not add a full crawl of the
+ * upstream catalog.
+ * <p>
+ * The peers in {@code movies.cache.peer-bootstrap.urls} are asked in order, and the first complete
+ * snapshot younger than {@code max-age-seconds} is installed with
+ * {@link DirectorSnapshotCache#bootstrap(DirectorCountSnapshot)}. When no peer answers in time, or
+ * every answer is stale, partial, unreadable or larger than {@code max-bytes}, the instance starts
+ * cold and crawls the upstream as usual.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "movies.cache.peer-bootstrap.enabled", havingValue = "true")
+public class DirectorSnapshotPeerBootstrap {
+
+    private final DirectorSnapshotCache snapshotCache;
+    private final List<URI> peers;
+    private final Duration maxAge;
+    private final Duration timeout;
+    private final int maxBytes;
+    private final HttpClient httpClient;
+
+    public DirectorSnapshotPeerBootstrap(
+            DirectorSnapshotCache snapshotCache,
+            @Value("${movies.cache.peer-bootstrap.urls:}") List<String> peers,
+            @Value("${movies.cache.peer-bootstrap.max-age-seconds:240}") long maxAgeSeconds,
+            @Value("${movies.cache.peer-bootstrap.timeout-millis:5000}") long timeoutMillis,
+            @Value("${movies.cache.peer-bootstrap.max-bytes:67108864}") int maxBytes) {
+        this.snapshotCache = snapshotCache;
+        this.peers = peers.stream().filter(peer -> !peer.isBlank()).map(peer -> URI.create(peer.trim())).toList();
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.maxBytes = maxBytes;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Runs while the context is being built, before the refresher schedules its first crawl.
+     */
+    @PostConstruct
+    public void start() {
+        for (URI peer : peers) {
+            Optional<DirectorCountSnapshot> snapshot = fetch(peer);
+            if (snapshot.isPresent()) {
+                if (snapshotCache.bootstrap(snapshot.get())) {
+                    log.info("Bootstrapped director snapshot from {} ({} directors, created {})",
+                            peer, snapshot.get().getDirectorCounts().size(), snapshot.get().getCreatedAt());
+                }
+                return;
+            }
+        }
+        if (!peers.isEmpty()) {
+            log.info("No peer had a usable director snapshot, starting cold");
+        }
+    }
+
+    /**
+     * Returns the snapshot {@code peer} serves, if it answered in time with a complete snapshot that
+     * is not older than the maximum age.
+     */
+    public Optional<DirectorCountSnapshot> fetch(URI peer) {
+        HttpRequest request = HttpRequest.newBuilder(peer)
+                .header("Accept", DirectorSnapshotCodec.MEDIA_TYPE)
+                .timeout(timeout)
+                .build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            byte[] body;
+            try (InputStream in = response.body()) {
+                if (response.statusCode() != 200) {
+                    log.info("Peer {} has no director snapshot to share (status {})", peer, response.statusCode());
+                    return Optional.empty();
+                }
+                // One byte past the cap tells an oversized body apart without buffering the rest of it.
+                body = in.readNBytes(maxBytes + 1);
+            }
+            if (body.length > maxBytes) {
+                log.warn("Ignoring director snapshot from {} larger than {} bytes", peer, maxBytes);
+                return Optional.empty();
+            }
+            DirectorCountSnapshot snapshot = DirectorSnapshotCodec.decode(ByteBuffer.wrap(body));
+            if (!snapshot.getCoverage().isComplete() || snapshot.isExpired(maxAge, Instant.now())) {
+                log.info("Ignoring {} director snapshot from {} created {}",
+                        snapshot.getCoverage().isComplete() ? "stale" : "partial", peer, snapshot.getCreatedAt());
+                return Optional.empty();
+            }
+            return Optional.of(snapshot);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not bootstrap director snapshot from {}", peer, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Optional.empty();
+    }
+}
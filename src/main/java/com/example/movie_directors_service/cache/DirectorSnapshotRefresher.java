@@ -0,0 +1,75 @@
+package com.example.movie_directors_service.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Rebuilds the director-count snapshot on a dedicated scheduler ahead of its expiry, so request
+ * threads keep reading the previous snapshot instead of paying for the full catalog crawl.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "movies.cache.refresh-enabled", havingValue = "true", matchIfMissing = true)
+public class DirectorSnapshotRefresher {
+
+    private final DirectorSnapshotCache snapshotCache;
+    private final Duration refreshInterval;
+    private final Scheduler scheduler;
+    private Disposable refreshes;
+
+    public DirectorSnapshotRefresher(
+            DirectorSnapshotCache snapshotCache,
+            @Value("${movies.cache.refresh-interval-seconds:240}") long refreshIntervalSeconds) {
+        this.snapshotCache = snapshotCache;
+        this.refreshInterval = Duration.ofSeconds(refreshIntervalSeconds);
+        this.scheduler = Schedulers.newSingle("director-snapshot-refresher", true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (refreshes != null) {
+            return;
+        }
+        refreshes = Flux.interval(firstRefreshDelay(), refreshInterval, scheduler)
+                .onBackpressureDrop()
+                .concatMap(tick -> snapshotCache.refresh()
+                        .doOnError(error -> log.warn("Director snapshot refresh failed with no snapshot to fall back on", error))
+                        .onErrorResume(error -> Mono.empty()), 0)
+                .subscribe();
+    }
+
+    /**
+     * Waits out the rest of the refresh interval of a snapshot that was already loaded elsewhere,
+     * such as one bootstrapped from a peer, instead of crawling again at startup. Seeded snapshots
+     * are revalidated straight away.
+     */
+    private Duration firstRefreshDelay() {
+        return snapshotCache.peek()
+                .filter(snapshot -> !snapshotCache.isSeed(snapshot))
+                .map(snapshot -> refreshInterval.minus(Duration.between(snapshot.getCreatedAt(), Instant.now())))
+                .filter(delay -> !delay.isNegative())
+                .orElse(Duration.ZERO);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (refreshes != null) {
+            refreshes.dispose();
+            refreshes = null;
+        }
+        scheduler.dispose();
+    }
+}
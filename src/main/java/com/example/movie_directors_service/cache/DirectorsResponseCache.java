@@ -0,0 +1,135 @@
+package com.example.movie_directors_service.cache;
+
+import com.example.movie_directors_service.dto.response.DirectorsResponse;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import com.example.movie_directors_service.model.DirectorThresholdIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the JSON body of {@code GET /api/directors} already encoded, so a repeated query is
+ * answered with the same bytes instead of copying the director list and serializing it again.
+ * <p>
+ * Entries are keyed by {@link DirectorThresholdIndex#answerKey(long)}, so every threshold that
+ * selects the same directors shares one entry, and they belong to a single snapshot: the first
+ * lookup against a newer snapshot drops them all. The least recently used entries are evicted once
+ * the encoded bodies add up to more than {@code max-bytes}; a body larger than that on its own is
+ * served but not kept. Hits and misses are counted under {@code movies.cache.response.requests}
+ * and the bytes held are published as {@code movies.cache.response.bytes}.
+ */
+@Component
+public class DirectorsResponseCache {
+
+    private final ObjectWriter writer;
+    private final long maxBytes;
+    private final Counter hits;
+    private final Counter misses;
+    private final LinkedHashMap<Integer, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private DirectorCountSnapshot snapshot;
+    private long bytes;
+
+    public DirectorsResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${movies.cache.response.max-bytes:16777216}") long maxBytes,
+            MeterRegistry meterRegistry) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Response cache max-bytes must not be negative");
+        }
+        this.writer = objectMapper.writerFor(DirectorsResponse.class);
+        this.maxBytes = maxBytes;
+        this.hits = requestCounter("hit", meterRegistry);
+        this.misses = requestCounter("miss", meterRegistry);
+        Gauge.builder("movies.cache.response.bytes", this, DirectorsResponseCache::getBytes)
+                .description("Bytes of encoded directors responses held by the response cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the JSON body listing the directors of {@code snapshot} with more than
+     * {@code threshold} movies. The array may be shared with other callers and must not be modified.
+     */
+    public byte[] get(DirectorCountSnapshot snapshot, long threshold) {
+        DirectorThresholdIndex index = snapshot.getThresholdIndex();
+        int key = index.answerKey(threshold);
+        synchronized (this) {
+            if (adopt(snapshot)) {
+                byte[] cached = entries.get(key);
+                if (cached != null) {
+                    hits.increment();
+                    return cached;
+                }
+            }
+        }
+        misses.increment();
+        // Encoded outside the lock so a large miss does not hold up hits on other thresholds.
+        byte[] json = encode(index, threshold);
+        synchronized (this) {
+            if (this.snapshot == snapshot && json.length <= maxBytes && !entries.containsKey(key)) {
+                entries.put(key, json);
+                bytes += json.length;
+                evictOverflow();
+            }
+        }
+        return json;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Makes {@code candidate} the snapshot entries belong to if it is the current one or newer, and
+     * returns whether it is. A caller still holding an older snapshot is answered without the cache.
+     */
+    private boolean adopt(DirectorCountSnapshot candidate) {
+        if (snapshot == candidate) {
+            return true;
+        }
+        if (snapshot != null && candidate.getCreatedAt().isBefore(snapshot.getCreatedAt())) {
+            return false;
+        }
+        snapshot = candidate;
+        entries.clear();
+        bytes = 0;
+        return true;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Integer, byte[]>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+
+    private byte[] encode(DirectorThresholdIndex index, long threshold) {
+        try {
+            return writer.writeValueAsBytes(DirectorsResponse.of(index.directorsAbove(threshold)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Counter requestCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("movies.cache.response.requests")
+                .description("Directors responses answered from already encoded bytes (hit) or encoded anew (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.movie_directors_service.client;
+
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDataBufferDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Decodes an upstream movies page straight into a {@link DirectorTallyPage} using Jackson's token
+ * stream, reading only the pagination fields and each movie's {@code Director}. Every other movie
+ * field is skipped without being materialized, and director names are matched against the
+ * {@link DirectorDictionary} straight from the parser's buffer.
+ */
+public class DirectorTallyPageDecoder extends AbstractDataBufferDecoder<DirectorTallyPage> {
+
+    private final JsonFactory jsonFactory;
+    private final DirectorDictionary dictionary;
+
+    public DirectorTallyPageDecoder(JsonFactory jsonFactory, DirectorDictionary dictionary) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.jsonFactory = jsonFactory;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        return DirectorTallyPage.class.equals(elementType.toClass()) && super.canDecode(elementType, mimeType);
+    }
+
+    @Override
+    public DirectorTallyPage decode(DataBuffer dataBuffer, ResolvableType targetType,
+                                    @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        try (InputStream body = dataBuffer.asInputStream(true)) {
+            return decode(body);
+        } catch (IOException ex) {
+            throw new DecodingException("Failed to decode movies page: " + ex.getMessage(), ex);
+        }
+    }
+
+    public DirectorTallyPage decode(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new DecodingException("Expected a JSON object for movies page");
+            }
+            DirectorTallyPage.Builder page = DirectorTallyPage.builder(dictionary);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "page" -> page.page(parser.getValueAsInt());
+                    case "total" -> page.total(parser.getValueAsInt());
+                    case "total_pages" -> page.totalPages(parser.getValueAsInt());
+                    case "data" -> readDirectors(parser, page);
+                    default -> parser.skipChildren();
+                }
+            }
+            return page.build();
+        }
+    }
+
+    private void readDirectors(JsonParser parser, DirectorTallyPage.Builder page) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("Director".equals(field) && value == JsonToken.VALUE_STRING) {
+                    addDirector(parser, page);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves the current string value against the dictionary from the parser's own buffer, so a
+     * director that has been seen before is counted without allocating a {@code String}.
+     */
+    private void addDirector(JsonParser parser, DirectorTallyPage.Builder page) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        int start = offset;
+        int end = offset + length;
+        while (start < end && Character.isWhitespace(chars[start])) {
+            start++;
+        }
+        if (start == end) {
+            return;
+        }
+        page.addDirectorId(dictionary.idOf(chars, offset, length));
+    }
+}
@@ -1,56 +1,82 @@
 package com.example.movie_directors_service.client;
 
-import com.example.movie_directors_service.dto.response.MoviesPageResponse;
-import com.example.movie_directors_service.exception.ExternalApiException;
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.exception.UpstreamStatusException;
+import com.example.movie_directors_service.limiter.RequestHedger;
+import com.example.movie_directors_service.limiter.UpstreamRateLimiter;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import com.fasterxml.jackson.core.JsonFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.function.Function;
 
 @Component
-public class MoviesApiClient {
-    
+@ConditionalOnProperty(name = "movies.api.engine", havingValue = "webclient", matchIfMissing = true)
+public class MoviesApiClient implements MoviesSource {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private final WebClient webClient;
-    private final Duration timeoutDuration;
-    private final int maxRetries;
-    private final Duration retryDelay;
-    
+    private final ValidatedTallies validatedTallies;
+    private final PageRequests pageRequests;
+
     public MoviesApiClient(
             WebClient.Builder webClientBuilder,
             @Value("${movies.api.base-url:https://wiremock.dev.eroninternational.com}") String baseUrl,
             @Value("${movies.api.timeout-seconds:30}") long timeoutSeconds,
             @Value("${movies.api.max-retries:2}") int maxRetries,
-            @Value("${movies.api.retry-delay-seconds:1}") long retryDelaySeconds) {
+            @Value("${movies.api.retry-delay-seconds:1}") long retryDelaySeconds,
+            @Value("${movies.api.conditional-requests.max-pages:20000}") int maxValidatedPages,
+            DirectorDictionary dictionary,
+            MeterRegistry meterRegistry,
+            RequestHedger hedger,
+            UpstreamRateLimiter rateLimiter) {
         this.webClient = webClientBuilder
                 .baseUrl(baseUrl != null ? baseUrl : "https://wiremock.dev.eroninternational.com")
+                .codecs(codecs -> codecs.customCodecs()
+                        .registerWithDefaultConfig(new DirectorTallyPageDecoder(JSON_FACTORY, dictionary)))
                 .build();
-        this.timeoutDuration = Duration.ofSeconds(timeoutSeconds);
-        this.maxRetries = maxRetries;
-        this.retryDelay = Duration.ofSeconds(retryDelaySeconds);
+        this.validatedTallies = new ValidatedTallies(maxValidatedPages);
+        this.pageRequests = new PageRequests(Duration.ofSeconds(timeoutSeconds), maxRetries,
+                Duration.ofSeconds(retryDelaySeconds), hedger, rateLimiter, meterRegistry);
+    }
+
+    /**
+     * Fetches one page keeping only its pagination metadata and per-director movie counts, without
+     * binding the page's movies.
+     * <p>
+     * When an earlier response for the page carried an {@code ETag} or {@code Last-Modified}
+     * validator, the request is made conditional and a {@code 304 Not Modified} answer is served from
+     * the tally parsed back then.
+     */
+    @Override
+    public Mono<DirectorTallyPage> fetchDirectorTallyPage(int page) {
+        ValidatedTallies.Entry sent = validatedTallies.get(page);
+        return fetchPage(page, sent == null ? HttpHeaders.EMPTY : sent.conditionalHeaders(),
+                response -> response.toEntity(DirectorTallyPage.class))
+                .flatMap(entity -> validatedTallies.resolve(page, sent,
+                        entity.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED),
+                        entity.getHeaders().getETag(),
+                        entity.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED),
+                        entity.getBody()));
     }
-    
-    public Mono<MoviesPageResponse> fetchMoviesPage(int page) {
-        return webClient
+
+    private <T> Mono<T> fetchPage(int page, HttpHeaders requestHeaders, Function<WebClient.ResponseSpec, Mono<T>> bodyExtractor) {
+        return pageRequests.execute(page, () -> bodyExtractor.apply(webClient
                 .get()
                 .uri("/api/movies/search?page={page}", page)
-                .retrieve()
-                .bodyToMono(MoviesPageResponse.class)
-                .timeout(timeoutDuration)
-                .retryWhen(Retry.backoff(maxRetries, retryDelay)
-                        .filter(throwable -> throwable instanceof WebClientResponseException 
-                                && ((WebClientResponseException) throwable).getStatusCode().is5xxServerError()))
-                .onErrorMap(WebClientResponseException.class, ex -> 
-                    new ExternalApiException(
-                        String.format("Failed to fetch movies from page %d. Status: %s", 
-                                page, ex.getStatusCode()), ex))
-                .onErrorMap(throwable -> !(throwable instanceof ExternalApiException), ex -> 
-                    new ExternalApiException(
-                        String.format("Failed to fetch movies from page %d due to timeout or network error", page), ex));
+                .headers(headers -> headers.addAll(requestHeaders))
+                .retrieve())
+                .onErrorMap(WebClientResponseException.class,
+                        ex -> new UpstreamStatusException(ex.getStatusCode(), ex.getHeaders(), ex)));
     }
-
 }
-
@@ -0,0 +1,20 @@
+package com.example.movie_directors_service.client;
+
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import reactor.core.publisher.Mono;
+
+/**
+ * Where catalog pages come from. {@code movies.api.engine} picks the implementation:
+ * {@code webclient} (the default) for {@link MoviesApiClient} on Reactor Netty, or
+ * {@code virtual-threads} for {@link VirtualThreadMoviesClient} on the JDK {@code HttpClient}.
+ * <p>
+ * Both engines time, hedge, rate-limit, retry and revalidate pages the same way, and fail with
+ * {@link com.example.movie_directors_service.exception.ExternalApiException}.
+ */
+public interface MoviesSource {
+
+    /**
+     * Fetches one page keeping only its pagination metadata and per-director movie counts.
+     */
+    Mono<DirectorTallyPage> fetchDirectorTallyPage(int page);
+}
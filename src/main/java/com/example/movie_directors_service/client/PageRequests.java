@@ -0,0 +1,93 @@
+package com.example.movie_directors_service.client;
+
+import com.example.movie_directors_service.exception.ExternalApiException;
+import com.example.movie_directors_service.exception.UpstreamStatusException;
+import com.example.movie_directors_service.limiter.RequestHedger;
+import com.example.movie_directors_service.limiter.UpstreamRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * What happens around every upstream page request, whichever engine sends it: each attempt is
+ * hedged and rate limited and times out on its own, an {@link UpstreamStatusException} with a 5xx
+ * status is retried with backoff, anything that still fails becomes an {@link ExternalApiException},
+ * and the whole fetch is timed as {@code movies.api.page.fetch}.
+ */
+final class PageRequests {
+
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Duration retryDelay;
+    private final RequestHedger hedger;
+    private final UpstreamRateLimiter rateLimiter;
+    private final Timer successfulFetches;
+    private final Timer failedFetches;
+    private final Timer cancelledFetches;
+    private final Counter retries;
+
+    PageRequests(Duration timeout, int maxRetries, Duration retryDelay, RequestHedger hedger,
+                 UpstreamRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        this.maxRetries = maxRetries;
+        this.retryDelay = retryDelay;
+        this.hedger = hedger;
+        this.rateLimiter = rateLimiter;
+        this.successfulFetches = pageFetchTimer("success", meterRegistry);
+        this.failedFetches = pageFetchTimer("error", meterRegistry);
+        this.cancelledFetches = pageFetchTimer("cancelled", meterRegistry);
+        this.retries = Counter.builder("movies.api.page.retries")
+                .description("Upstream page requests retried after a 5xx response")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fetches {@code page}, subscribing to {@code attempt} once per attempt.
+     */
+    <T> Mono<T> execute(int page, Supplier<Mono<T>> attempt) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return request(page, attempt)
+                    .doFinally(signal -> fetchTimer(signal).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private <T> Mono<T> request(int page, Supplier<Mono<T>> attempt) {
+        return hedger.hedge(() -> rateLimiter.execute(attempt))
+                .timeout(timeout)
+                .retryWhen(Retry.backoff(maxRetries, retryDelay)
+                        .filter(throwable -> throwable instanceof UpstreamStatusException
+                                && ((UpstreamStatusException) throwable).getStatusCode().is5xxServerError())
+                        .doBeforeRetry(signal -> retries.increment()))
+                .onErrorMap(UpstreamStatusException.class, ex ->
+                    new ExternalApiException(
+                        String.format("Failed to fetch movies from page %d. Status: %s",
+                                page, ex.getStatusCode()), ex))
+                .onErrorMap(throwable -> !(throwable instanceof ExternalApiException), ex ->
+                    new ExternalApiException(
+                        String.format("Failed to fetch movies from page %d due to timeout or network error", page), ex));
+    }
+
+    private Timer fetchTimer(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> failedFetches;
+            case CANCEL -> cancelledFetches;
+            default -> successfulFetches;
+        };
+    }
+
+    private static Timer pageFetchTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("movies.api.page.fetch")
+                .description("Time to fetch one upstream catalog page, including retries")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
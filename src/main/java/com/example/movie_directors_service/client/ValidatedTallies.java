@@ -0,0 +1,69 @@
+package com.example.movie_directors_service.client;
+
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.exception.ExternalApiException;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tallies of pages whose last response carried an {@code ETag} or {@code Last-Modified} validator,
+ * for revalidating them with a conditional request and reusing the tally on
+ * {@code 304 Not Modified}. At most {@code maxPages} pages are remembered.
+ */
+final class ValidatedTallies {
+
+    private final int maxPages;
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+    ValidatedTallies(int maxPages) {
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * The validators and tally remembered for {@code page}, or {@code null}.
+     */
+    Entry get(int page) {
+        return entries.get(page);
+    }
+
+    /**
+     * Resolves the answer to a request made with {@code sent}'s validators (or none, when it is
+     * {@code null}), remembering the new validators and tally of a full response. A full response
+     * without a body is an error, so the caller skips the page like any other failed fetch.
+     */
+    Mono<DirectorTallyPage> resolve(int page, Entry sent, boolean notModified, String eTag, String lastModified,
+                                    DirectorTallyPage tally) {
+        if (notModified) {
+            if (sent == null) {
+                return Mono.error(new ExternalApiException(
+                        String.format("Page %d answered 304 Not Modified to an unconditional request", page)));
+            }
+            return Mono.just(sent.tally());
+        }
+        if (tally == null) {
+            return Mono.error(new ExternalApiException(String.format("Page %d answered without a body", page)));
+        }
+        if (eTag == null && lastModified == null) {
+            entries.remove(page);
+        } else if (entries.containsKey(page) || entries.size() < maxPages) {
+            entries.put(page, new Entry(eTag, lastModified, tally));
+        }
+        return Mono.just(tally);
+    }
+
+    record Entry(String eTag, String lastModified, DirectorTallyPage tally) {
+
+        HttpHeaders conditionalHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            if (eTag != null) {
+                headers.setIfNoneMatch(eTag);
+            } else {
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+            return headers;
+        }
+    }
+}
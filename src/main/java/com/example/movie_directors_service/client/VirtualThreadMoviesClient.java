@@ -0,0 +1,127 @@
+package com.example.movie_directors_service.client;
+
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.exception.UpstreamStatusException;
+import com.example.movie_directors_service.limiter.RequestHedger;
+import com.example.movie_directors_service.limiter.UpstreamRateLimiter;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import com.fasterxml.jackson.core.JsonFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link MoviesSource} on the JDK {@code HttpClient}, selected with
+ * {@code movies.api.engine=virtual-threads}.
+ * <p>
+ * Every attempt is a blocking {@code send} on its own virtual thread, and the response body is
+ * streamed straight into {@link DirectorTallyPageDecoder} without being buffered. The loader's page
+ * fan-out stays reactive, so the concurrency limiter, circuit breaker and incremental sync apply
+ * unchanged; cancelling a page (a lost hedge, a timeout, an abandoned crawl) interrupts its thread,
+ * which aborts the exchange. In-flight requests are bounded by the concurrency limiter rather than
+ * by a connection pool, since the JDK client does not cap its connections.
+ */
+@Component
+@ConditionalOnProperty(name = "movies.api.engine", havingValue = "virtual-threads")
+public class VirtualThreadMoviesClient implements MoviesSource {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final DirectorTallyPageDecoder decoder;
+    private final URI baseUri;
+    private final Duration timeout;
+    private final Scheduler scheduler;
+    private final HttpClient httpClient;
+    private final ValidatedTallies validatedTallies;
+    private final PageRequests pageRequests;
+
+    public VirtualThreadMoviesClient(
+            @Value("${movies.api.base-url:https://wiremock.dev.eroninternational.com}") String baseUrl,
+            @Value("${movies.api.timeout-seconds:30}") long timeoutSeconds,
+            @Value("${movies.api.max-retries:2}") int maxRetries,
+            @Value("${movies.api.retry-delay-seconds:1}") long retryDelaySeconds,
+            @Value("${movies.api.conditional-requests.max-pages:20000}") int maxValidatedPages,
+            @Value("${movies.api.http.connect-timeout-millis:5000}") int connectTimeoutMillis,
+            @Value("${movies.api.http.http2-enabled:false}") boolean http2Enabled,
+            DirectorDictionary dictionary,
+            MeterRegistry meterRegistry,
+            RequestHedger hedger,
+            UpstreamRateLimiter rateLimiter) {
+        this.decoder = new DirectorTallyPageDecoder(JSON_FACTORY, dictionary);
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("movies-api-", 0).factory());
+        this.scheduler = Schedulers.fromExecutorService(executor, "movies-api");
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .version(http2Enabled ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .build();
+        this.validatedTallies = new ValidatedTallies(maxValidatedPages);
+        this.pageRequests = new PageRequests(timeout, maxRetries, Duration.ofSeconds(retryDelaySeconds),
+                hedger, rateLimiter, meterRegistry);
+    }
+
+    /**
+     * Fetches one page keeping only its pagination metadata and per-director movie counts,
+     * revalidating it like {@link MoviesApiClient#fetchDirectorTallyPage(int)} does.
+     */
+    @Override
+    public Mono<DirectorTallyPage> fetchDirectorTallyPage(int page) {
+        ValidatedTallies.Entry sent = validatedTallies.get(page);
+        return pageRequests.execute(page, () -> Mono.fromCallable(() -> send(page, sent)).subscribeOn(scheduler))
+                .flatMap(fetched -> validatedTallies.resolve(page, sent, fetched.notModified(), fetched.eTag(),
+                        fetched.lastModified(), fetched.tally()));
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClient.shutdownNow();
+        scheduler.dispose();
+    }
+
+    private Fetched send(int page, ValidatedTallies.Entry sent) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve("api/movies/search?page=" + page))
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .timeout(timeout)
+                .GET();
+        if (sent != null) {
+            sent.conditionalHeaders().forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+        }
+        HttpResponse<InputStream> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            int status = response.statusCode();
+            String eTag = response.headers().firstValue(HttpHeaders.ETAG).orElse(null);
+            String lastModified = response.headers().firstValue(HttpHeaders.LAST_MODIFIED).orElse(null);
+            if (status == 304) {
+                return new Fetched(true, eTag, lastModified, null);
+            }
+            if (status < 200 || status >= 300) {
+                HttpHeaders headers = new HttpHeaders();
+                response.headers().map().forEach(headers::addAll);
+                throw new UpstreamStatusException(HttpStatusCode.valueOf(status), headers);
+            }
+            return new Fetched(false, eTag, lastModified, decoder.decode(body));
+        }
+    }
+
+    private record Fetched(boolean notModified, String eTag, String lastModified, DirectorTallyPage tally) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.movie_directors_service.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Reactor Netty connection pool and HTTP client behind the auto-configured {@code WebClient.Builder},
+ * and therefore behind {@code MoviesApiClient}.
+ * <p>
+ * The pool is sized for the page fan-out rather than Reactor Netty's defaults, and publishes its
+ * active, idle and pending connection gauges plus the pending-acquire timer under
+ * {@code reactor.netty.connection.provider.*} with {@code name=movies-api}.
+ */
+@Configuration
+public class MoviesApiHttpClientConfig {
+
+    private static final String POOL_NAME = "movies-api";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider moviesApiConnectionProvider(
+            @Value("${movies.api.http.max-connections:64}") int maxConnections,
+            @Value("${movies.api.http.pending-acquire-max-count:256}") int pendingAcquireMaxCount,
+            @Value("${movies.api.http.pending-acquire-timeout-seconds:10}") long pendingAcquireTimeoutSeconds,
+            @Value("${movies.api.http.max-idle-time-seconds:30}") long maxIdleTimeSeconds,
+            @Value("${movies.api.http.max-life-time-seconds:300}") long maxLifeTimeSeconds,
+            @Value("${movies.api.http.evict-in-background-seconds:60}") long evictInBackgroundSeconds) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofSeconds(pendingAcquireTimeoutSeconds))
+                .maxIdleTime(Duration.ofSeconds(maxIdleTimeSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeTimeSeconds))
+                .evictInBackground(Duration.ofSeconds(evictInBackgroundSeconds))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public HttpClient moviesApiHttpClient(
+            ConnectionProvider moviesApiConnectionProvider,
+            @Value("${movies.api.http.connect-timeout-millis:5000}") int connectTimeoutMillis,
+            @Value("${movies.api.http.keep-alive:true}") boolean keepAlive,
+            @Value("${movies.api.http.http2-enabled:false}") boolean http2Enabled) {
+        HttpClient httpClient = HttpClient.create(moviesApiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .keepAlive(keepAlive);
+        if (http2Enabled) {
+            // Negotiated over TLS via ALPN; servers without h2 keep being spoken to over HTTP/1.1.
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return httpClient;
+    }
+
+    @Bean
+    public ClientHttpConnector moviesApiClientHttpConnector(HttpClient moviesApiHttpClient) {
+        return new ReactorClientHttpConnector(moviesApiHttpClient);
+    }
+}
@@ -1,52 +1,191 @@
 package com.example.movie_directors_service.controller;
 
+import com.example.movie_directors_service.cache.DirectorSnapshotCodec;
 import com.example.movie_directors_service.dto.response.ErrorResponse;
 import com.example.movie_directors_service.exception.InvalidParameterException;
+import com.example.movie_directors_service.model.CatalogCoverage;
 import com.example.movie_directors_service.service.DirectorsService;
 import com.example.movie_directors_service.validation.ThresholdValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/directors")
 public class DirectorsController {
 
+    private static final String PAGES_FETCHED_HEADER = "X-Catalog-Pages-Fetched";
+    private static final String TOTAL_PAGES_HEADER = "X-Catalog-Total-Pages";
+    private static final String COMPLETE_HEADER = "X-Catalog-Complete";
+
     private final DirectorsService directorsService;
     private final ThresholdValidator thresholdValidator;
+    private final DirectorCountStreamEncoder streamEncoder;
+    private final ObjectMapper objectMapper;
 
-    public DirectorsController(DirectorsService directorsService, ThresholdValidator thresholdValidator) {
+    public DirectorsController(DirectorsService directorsService, ThresholdValidator thresholdValidator,
+                               DirectorCountStreamEncoder streamEncoder, ObjectMapper objectMapper) {
         this.directorsService = directorsService;
         this.thresholdValidator = thresholdValidator;
+        this.streamEncoder = streamEncoder;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Answers with the body already encoded by the service, wrapped rather than copied into the
+     * response buffer, so a cached answer is written without serializing the directors again.
+     * <p>
+     * Every answer carries the service's ETag, a public {@code Cache-Control} max-age and
+     * {@code Vary: Accept-Encoding}, since the body may be compressed. A request whose
+     * {@code If-None-Match} matches gets {@code 304 Not Modified} before the body is looked up or
+     * encoded.
+     */
     @GetMapping
     public Mono<ResponseEntity<Object>> getDirectorsAboveThreshold(
-            @RequestParam("threshold") String thresholdParam) {
+            @RequestParam("threshold") String thresholdParam,
+            ServerWebExchange exchange) {
 
         try {
             long threshold = thresholdValidator.parseAndValidate(thresholdParam);
 
-            return directorsService.getDirectorsAboveThreshold(threshold)
-                    .map(directors -> ResponseEntity.ok().body((Object) directors));
+            return directorsService.getEncodedDirectorsAboveThreshold(threshold)
+                    .map(directors -> {
+                        boolean notModified = exchange.checkNotModified(directors.getETag());
+                        ResponseEntity.BodyBuilder builder = ResponseEntity
+                                .status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                                .eTag(directors.getETag())
+                                .cacheControl(CacheControl.maxAge(directors.getMaxAge()).cachePublic())
+                                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                                .headers(headers -> addCoverageHeaders(headers, directors.getCoverage()));
+                        if (notModified) {
+                            return builder.build();
+                        }
+                        return builder.contentType(MediaType.APPLICATION_JSON)
+                                .body((Object) exchange.getResponse().bufferFactory().wrap(directors.getJson()));
+                    });
+        } catch (InvalidParameterException ex) {
+            return Mono.just(ResponseEntity.badRequest().body(buildErrorResponse(ex.getMessage(), "/api/directors")));
+        }
+    }
+
+    /**
+     * Answers several thresholds, e.g. {@code ?thresholds=1,3,5,10}, from a single snapshot lookup,
+     * keyed by threshold in request order.
+     */
+    @GetMapping("/batch")
+    public Mono<ResponseEntity<Object>> getDirectorsAboveThresholds(
+            @RequestParam("thresholds") String thresholdsParam) {
+
+        try {
+            long[] thresholds = thresholdValidator.parseAndValidateList(thresholdsParam);
+
+            return directorsService.getDirectorsAboveThresholds(thresholds)
+                    .map(batch -> ResponseEntity.ok()
+                            .headers(headers -> addCoverageHeaders(headers, batch.getCoverage()))
+                            .body((Object) batch));
         } catch (InvalidParameterException ex) {
-            return Mono.just(ResponseEntity.badRequest().body(buildErrorResponse(ex.getMessage())));
+            return Mono.just(ResponseEntity.badRequest().body(buildErrorResponse(ex.getMessage(), "/api/directors/batch")));
         }
     }
 
-    private ErrorResponse buildErrorResponse(String message) {
+    /**
+     * Returns the {@code k} directors with the most movies, with their counts, most prolific first
+     * and ties broken by name.
+     */
+    @GetMapping("/top")
+    public Mono<ResponseEntity<Object>> getTopDirectors(@RequestParam("k") String limitParam) {
+
+        try {
+            int k = thresholdValidator.parseAndValidateLimit(limitParam);
+
+            return directorsService.getTopDirectors(k)
+                    .map(top -> ResponseEntity.ok()
+                            .headers(headers -> addCoverageHeaders(headers, top.getCoverage()))
+                            .body((Object) top));
+        } catch (InvalidParameterException ex) {
+            return Mono.just(ResponseEntity.badRequest().body(buildErrorResponse(ex.getMessage(), "/api/directors/top")));
+        }
+    }
+
+    /**
+     * Same query as {@link #getDirectorsAboveThreshold(String, ServerWebExchange)}, written one director per line
+     * ({@code application/x-ndjson}) or one per event ({@code text/event-stream}) with its movie
+     * count, so clients can start consuming large answers before the whole list is serialized.
+     * Server-sent events are only used when the client asks for them explicitly.
+     */
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Mono<Void> streamDirectorsAboveThreshold(
+            @RequestParam("threshold") String thresholdParam,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) List<MediaType> accept,
+            ServerHttpResponse response) {
+
+        try {
+            long threshold = thresholdValidator.parseAndValidate(thresholdParam);
+            MediaType mediaType = accept != null && accept.stream().anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype)
+                    ? MediaType.TEXT_EVENT_STREAM
+                    : MediaType.APPLICATION_NDJSON;
+
+            return directorsService.streamDirectorsAboveThreshold(threshold)
+                    .flatMap(stream -> {
+                        response.getHeaders().setContentType(mediaType);
+                        addCoverageHeaders(response.getHeaders(), stream.getCoverage());
+                        // One flush per encoded chunk, so the first directors leave before the rest are encoded.
+                        return response.writeAndFlushWith(
+                                streamEncoder.encode(stream.getDirectors(), mediaType, response.bufferFactory())
+                                        .map(Flux::just));
+                    });
+        } catch (InvalidParameterException ex) {
+            // Written by hand: this handler owns the response, so there is no ResponseEntity to return.
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.fromCallable(() -> response.bufferFactory().wrap(
+                    objectMapper.writeValueAsBytes(buildErrorResponse(ex.getMessage(), "/api/directors/stream")))));
+        }
+    }
+
+    /**
+     * The director-count snapshot this instance serves, in {@link DirectorSnapshotCodec} form, so a
+     * new instance can bootstrap from it instead of crawling the upstream catalog. Answers
+     * {@code 404} while no snapshot has been loaded.
+     */
+    @GetMapping(value = "/snapshot", produces = DirectorSnapshotCodec.MEDIA_TYPE)
+    public Mono<ResponseEntity<DataBuffer>> exportSnapshot(ServerHttpResponse response) {
+        return directorsService.exportSnapshot()
+                .map(snapshot -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(DirectorSnapshotCodec.MEDIA_TYPE))
+                        .body(response.bufferFactory().wrap(snapshot)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private void addCoverageHeaders(HttpHeaders headers, CatalogCoverage coverage) {
+        headers.set(PAGES_FETCHED_HEADER, String.valueOf(coverage.pagesFetched()));
+        headers.set(TOTAL_PAGES_HEADER, String.valueOf(coverage.totalPages()));
+        headers.set(COMPLETE_HEADER, String.valueOf(coverage.isComplete()));
+    }
+
+    private ErrorResponse buildErrorResponse(String message, String path) {
         return ErrorResponse.builder()
                 .timestamp(OffsetDateTime.now().toString())
                 .status(HttpStatus.BAD_REQUEST.value())
                 .error("Bad Request")
                 .message(message)
-                .path("/api/directors")
+                .path(path)
                 .build();
     }
 }
\ No newline at end of file
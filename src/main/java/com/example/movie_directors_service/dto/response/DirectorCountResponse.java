@@ -0,0 +1,31 @@
+package com.example.movie_directors_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Immutable DTO for one director and the number of movies they directed, as emitted by the
+ * streaming directors endpoint.
+ */
+@Getter
+@Builder
+@Jacksonized
+@EqualsAndHashCode
+public class DirectorCountResponse {
+
+    @JsonProperty("director")
+    private final String director;
+
+    @JsonProperty("movies")
+    private final long movies;
+
+    public static DirectorCountResponse of(String director, long movies) {
+        return DirectorCountResponse.builder()
+                .director(director)
+                .movies(movies)
+                .build();
+    }
+}
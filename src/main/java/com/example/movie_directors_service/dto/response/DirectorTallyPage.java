@@ -0,0 +1,161 @@
+package com.example.movie_directors_service.dto.response;
+
+import com.example.movie_directors_service.model.DirectorDictionary;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact view of one page of the external movies API that keeps only the pagination metadata and
+ * how many movies each director has on that page.
+ * <p>
+ * Directors are held as ids from a {@link DirectorDictionary} in two parallel arrays, so a
+ * page costs a few dozen bytes however long the names are, and tallies kept for conditional
+ * refreshes do not pin a {@code String} per movie.
+ */
+@Getter
+public class DirectorTallyPage {
+
+    private final int page;
+
+    private final int total;
+
+    private final int totalPages;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] directorIds;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] movies;
+
+    @Getter(AccessLevel.NONE)
+    private final DirectorDictionary dictionary;
+
+    private DirectorTallyPage(int page, int total, int totalPages, int[] directorIds, int[] movies,
+                              DirectorDictionary dictionary) {
+        this.page = page;
+        this.total = total;
+        this.totalPages = totalPages;
+        this.directorIds = directorIds;
+        this.movies = movies;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * A builder whose director names and ids are resolved against {@code dictionary}.
+     */
+    public static Builder builder(DirectorDictionary dictionary) {
+        return new Builder(dictionary);
+    }
+
+    /**
+     * Number of distinct directors on this page.
+     */
+    public int directorCount() {
+        return directorIds.length;
+    }
+
+    /**
+     * Dictionary id of the {@code index}-th distinct director, in ascending id order.
+     */
+    public int directorId(int index) {
+        return directorIds[index];
+    }
+
+    public int movies(int index) {
+        return movies[index];
+    }
+
+    /**
+     * Whether {@code other} counts the same movies for the same directors, whatever its pagination
+     * metadata.
+     */
+    public boolean hasSameDirectorsAs(DirectorTallyPage other) {
+        return other == this || (Arrays.equals(directorIds, other.directorIds) && Arrays.equals(movies, other.movies));
+    }
+
+    /**
+     * Movies per director name. Builds a new map on every call; aggregation reads the ids instead.
+     */
+    public Map<String, Integer> getDirectorCounts() {
+        Map<String, Integer> counts = HashMap.newHashMap(directorIds.length);
+        for (int i = 0; i < directorIds.length; i++) {
+            counts.put(dictionary.nameOf(directorIds[i]), movies[i]);
+        }
+        return counts;
+    }
+
+    public static final class Builder {
+
+        private static final int[] NONE = new int[0];
+
+        private final DirectorDictionary dictionary;
+        private int page;
+        private int total;
+        private int totalPages;
+        private int[] occurrences = NONE;
+        private int size;
+
+        private Builder(DirectorDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        public Builder page(int page) {
+            this.page = page;
+            return this;
+        }
+
+        public Builder total(int total) {
+            this.total = total;
+            return this;
+        }
+
+        public Builder totalPages(int totalPages) {
+            this.totalPages = totalPages;
+            return this;
+        }
+
+        /**
+         * Counts one movie for {@code director}; null and blank names are skipped.
+         */
+        public Builder addDirector(String director) {
+            if (director != null && !director.isBlank()) {
+                addDirectorId(dictionary.idOf(director));
+            }
+            return this;
+        }
+
+        /**
+         * Counts one movie for the director with dictionary id {@code directorId}.
+         */
+        public Builder addDirectorId(int directorId) {
+            if (size == occurrences.length) {
+                occurrences = Arrays.copyOf(occurrences, Math.max(16, size * 2));
+            }
+            occurrences[size++] = directorId;
+            return this;
+        }
+
+        public DirectorTallyPage build() {
+            int[] sorted = Arrays.copyOf(occurrences, size);
+            Arrays.sort(sorted);
+            int[] ids = new int[size];
+            int[] movies = new int[size];
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct > 0 && ids[distinct - 1] == sorted[i]) {
+                    movies[distinct - 1]++;
+                } else {
+                    ids[distinct] = sorted[i];
+                    movies[distinct] = 1;
+                    distinct++;
+                }
+            }
+            return new DirectorTallyPage(page, total, totalPages,
+                    Arrays.copyOf(ids, distinct), Arrays.copyOf(movies, distinct), dictionary);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.movie_directors_service.dto.response;
+
+import com.example.movie_directors_service.model.CatalogCoverage;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable DTO with the directors above each requested threshold, keyed by threshold in request
+ * order. All lists come from the same snapshot; its coverage is reported as headers, as for
+ * {@link EncodedDirectorsResponse}.
+ */
+@Getter
+@EqualsAndHashCode
+public class DirectorsBatchResponse {
+
+    @JsonProperty("directors")
+    private final Map<Long, List<String>> directors;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private final CatalogCoverage coverage;
+
+    private DirectorsBatchResponse(Map<Long, List<String>> directors, CatalogCoverage coverage) {
+        this.directors = Collections.unmodifiableMap(new LinkedHashMap<>(directors));
+        this.coverage = coverage;
+    }
+
+    public static DirectorsBatchResponse of(Map<Long, List<String>> directors, CatalogCoverage coverage) {
+        return new DirectorsBatchResponse(directors, coverage);
+    }
+}
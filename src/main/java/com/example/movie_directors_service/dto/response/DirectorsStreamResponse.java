@@ -0,0 +1,26 @@
+package com.example.movie_directors_service.dto.response;
+
+import com.example.movie_directors_service.model.CatalogCoverage;
+import lombok.Getter;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming counterpart of {@link DirectorsResponse}: the qualifying directors as a {@link Flux} in
+ * name order, together with the catalog coverage of the snapshot they come from so the controller
+ * can report it as headers before the first element is written.
+ */
+@Getter
+public class DirectorsStreamResponse {
+
+    private final Flux<DirectorCountResponse> directors;
+    private final CatalogCoverage coverage;
+
+    private DirectorsStreamResponse(Flux<DirectorCountResponse> directors, CatalogCoverage coverage) {
+        this.directors = directors;
+        this.coverage = coverage;
+    }
+
+    public static DirectorsStreamResponse of(Flux<DirectorCountResponse> directors, CatalogCoverage coverage) {
+        return new DirectorsStreamResponse(directors, coverage);
+    }
+}
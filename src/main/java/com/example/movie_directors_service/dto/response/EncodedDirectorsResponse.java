@@ -0,0 +1,42 @@
+package com.example.movie_directors_service.dto.response;
+
+import com.example.movie_directors_service.model.CatalogCoverage;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * A {@link DirectorsResponse} as its JSON body, together with the catalog coverage the controller
+ * reports as headers and the HTTP validator and freshness lifetime of the answer.
+ * <p>
+ * The body is only encoded (or fetched from the response cache) when {@link #getJson()} is called,
+ * so a request whose {@code If-None-Match} matches {@link #getETag()} can be answered without it.
+ * The returned array may be shared between responses and must not be modified.
+ */
+@Getter
+public class EncodedDirectorsResponse {
+
+    private final String eTag;
+    private final Duration maxAge;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<byte[]> json;
+    private final CatalogCoverage coverage;
+
+    private EncodedDirectorsResponse(String eTag, Duration maxAge, Supplier<byte[]> json, CatalogCoverage coverage) {
+        this.eTag = eTag;
+        this.maxAge = maxAge;
+        this.json = json;
+        this.coverage = coverage;
+    }
+
+    public static EncodedDirectorsResponse of(String eTag, Duration maxAge, Supplier<byte[]> json,
+                                              CatalogCoverage coverage) {
+        return new EncodedDirectorsResponse(eTag, maxAge, json, coverage);
+    }
+
+    public byte[] getJson() {
+        return json.get();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.movie_directors_service.dto.response;
+
+import com.example.movie_directors_service.model.CatalogCoverage;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Immutable DTO with the most prolific directors and their movie counts, by descending count and
+ * then by name. Coverage of the snapshot they come from is reported as headers, as for
+ * {@link EncodedDirectorsResponse}.
+ */
+@Getter
+@EqualsAndHashCode
+public class TopDirectorsResponse {
+
+    @JsonProperty("directors")
+    private final List<DirectorCountResponse> directors;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private final CatalogCoverage coverage;
+
+    private TopDirectorsResponse(List<DirectorCountResponse> directors, CatalogCoverage coverage) {
+        this.directors = directors == null ? List.of() : List.copyOf(directors);
+        this.coverage = coverage;
+    }
+
+    public static TopDirectorsResponse of(List<DirectorCountResponse> directors, CatalogCoverage coverage) {
+        return new TopDirectorsResponse(directors, coverage);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.movie_directors_service.exception;
+
+/**
+ * Raised without calling upstream while the circuit breaker in front of the movies API is open.
+ */
+public class CircuitBreakerOpenException extends ExternalApiException {
+
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
@@ -21,6 +21,14 @@ public class GlobalExceptionHandler {
         return Mono.just(buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage()));
     }
 
+    @ExceptionHandler(ExternalApiException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleExternalApiException(
+            ExternalApiException ex) {
+
+        return Mono.just(buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                "The movie catalog is temporarily unavailable"));
+    }
+
     @ExceptionHandler(Exception.class)
     public Mono<ResponseEntity<ErrorResponse>> handleGenericException(
             Exception ex) {
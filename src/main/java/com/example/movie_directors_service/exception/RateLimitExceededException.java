@@ -0,0 +1,12 @@
+package com.example.movie_directors_service.exception;
+
+/**
+ * Raised without calling upstream when the process-wide rate limit on movies API requests would
+ * make a request wait longer than allowed, or its wait queue is full.
+ */
+public class RateLimitExceededException extends ExternalApiException {
+
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
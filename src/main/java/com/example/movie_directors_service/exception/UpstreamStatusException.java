@@ -0,0 +1,36 @@
+package com.example.movie_directors_service.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * The movies API answered with a status other than 2xx or {@code 304 Not Modified}. Every
+ * {@code MoviesSource} engine raises this for such answers, so retries, the concurrency limiter and
+ * the circuit breaker classify a response the same way whichever HTTP client received it.
+ */
+public class UpstreamStatusException extends RuntimeException {
+
+    private final HttpStatusCode statusCode;
+    private final HttpHeaders headers;
+
+    public UpstreamStatusException(HttpStatusCode statusCode, HttpHeaders headers) {
+        this(statusCode, headers, null);
+    }
+
+    public UpstreamStatusException(HttpStatusCode statusCode, HttpHeaders headers, Throwable cause) {
+        super("Movies API answered " + statusCode, cause);
+        this.statusCode = statusCode;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    public HttpStatusCode getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * The response headers, e.g. {@code Retry-After} on a {@code 429} or {@code 503}.
+     */
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.movie_directors_service.limiter;
+
+import com.example.movie_directors_service.exception.UpstreamStatusException;
+import com.fasterxml.jackson.core.JacksonException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many upstream page fetches run at once and adapts that cap to how the upstream behaves.
+ * <p>
+ * Every successful call whose latency stays within {@code latency-tolerance} times the observed
+ * baseline grows the limit additively (by roughly one per round of {@code limit} calls). Slower
+ * calls shrink it in proportion to how far latency drifted, and timeouts, connection and I/O
+ * failures, 429s and 5xx responses cut it by {@code backoff-ratio}. Callers over the limit wait in
+ * a non-blocking FIFO queue. The current limit is published as
+ * {@code movies.api.concurrency.limit}.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BASELINE_DRIFT = 0.01;
+    private static final double MIN_LATENCY_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private double baselineLatencyNanos = Double.NaN;
+
+    public AdaptiveConcurrencyLimiter(
+            @Value("${movies.api.concurrency.initial-limit:5}") int initialLimit,
+            @Value("${movies.api.concurrency.min-limit:1}") int minLimit,
+            @Value("${movies.api.concurrency.max-limit:32}") int maxLimit,
+            @Value("${movies.api.concurrency.backoff-ratio:0.5}") double backoffRatio,
+            @Value("${movies.api.concurrency.latency-tolerance:2.0}") double latencyTolerance,
+            MeterRegistry meterRegistry) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder("movies.api.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on concurrent upstream page fetches")
+                .register(meterRegistry);
+        Gauge.builder("movies.api.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Upstream page fetches currently holding a concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("movies.api.concurrency.waiting", this, AdaptiveConcurrencyLimiter::getWaiting)
+                .description("Upstream page fetches waiting for a concurrency permit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call} once a permit is available and feeds its latency and outcome back into the
+     * limit.
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return Mono.usingWhen(
+                acquire(),
+                permit -> call.get(),
+                permit -> Mono.fromRunnable(permit::onSuccess),
+                (permit, error) -> Mono.fromRunnable(() -> permit.onError(error)),
+                permit -> Mono.fromRunnable(permit::onIgnore));
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public synchronized int getLimit() {
+        return permits();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getWaiting() {
+        return waiters.size();
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = null;
+            Permit granted = null;
+            synchronized (this) {
+                if (waiters.isEmpty() && inFlight < permits()) {
+                    inFlight++;
+                    granted = new Permit();
+                } else {
+                    waiter = new Waiter(sink);
+                    waiters.addLast(waiter);
+                }
+            }
+            if (granted != null) {
+                sink.success(granted);
+                return;
+            }
+            Waiter queued = waiter;
+            sink.onCancel(() -> cancel(queued));
+        });
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit orphaned;
+        synchronized (this) {
+            if (waiters.remove(waiter)) {
+                return;
+            }
+            orphaned = waiter.permit;
+        }
+        if (orphaned != null) {
+            orphaned.onIgnore();
+        }
+    }
+
+    private void release(Outcome outcome, long latencyNanos) {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            adjustLimit(outcome, latencyNanos);
+            while (!waiters.isEmpty() && inFlight < permits()) {
+                Waiter waiter = waiters.pollFirst();
+                waiter.permit = new Permit();
+                inFlight++;
+                granted.add(waiter);
+            }
+        }
+        granted.forEach(waiter -> waiter.sink.success(waiter.permit));
+    }
+
+    private void adjustLimit(Outcome outcome, long latencyNanos) {
+        switch (outcome) {
+            case SUCCESS -> {
+                if (Double.isNaN(baselineLatencyNanos) || latencyNanos < baselineLatencyNanos) {
+                    baselineLatencyNanos = latencyNanos;
+                } else {
+                    baselineLatencyNanos += (latencyNanos - baselineLatencyNanos) * BASELINE_DRIFT;
+                }
+                double tolerated = baselineLatencyNanos * latencyTolerance;
+                if (latencyNanos <= tolerated) {
+                    limit = Math.min(maxLimit, limit + 1.0 / limit);
+                } else {
+                    double gradient = Math.max(MIN_LATENCY_GRADIENT, tolerated / latencyNanos);
+                    limit = Math.max(minLimit, limit * gradient);
+                }
+            }
+            case DROPPED -> limit = Math.max(minLimit, limit * backoffRatio);
+            case IGNORED -> {
+            }
+        }
+    }
+
+    private int permits() {
+        return Math.max(minLimit, (int) limit);
+    }
+
+    /**
+     * Whether {@code error} means the upstream could not keep up: a timeout, a 429 or 5xx answer, or
+     * a refused, reset or prematurely closed connection from either engine. A body that fails to
+     * parse is an {@link IOException} too, but says nothing about load.
+     */
+    private static boolean isOverload(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause instanceof UpstreamStatusException response) {
+                return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+            }
+            if (cause instanceof JacksonException) {
+                return false;
+            }
+            if (cause instanceof WebClientRequestException || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    private static final class Waiter {
+
+        private final MonoSink<Permit> sink;
+        private Permit permit;
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+
+    private final class Permit {
+
+        private final long grantedAt = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private void onSuccess() {
+            release(Outcome.SUCCESS);
+        }
+
+        private void onError(Throwable error) {
+            release(isOverload(error) ? Outcome.DROPPED : Outcome.IGNORED);
+        }
+
+        private void onIgnore() {
+            release(Outcome.IGNORED);
+        }
+
+        private void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(outcome, System.nanoTime() - grantedAt);
+            }
+        }
+    }
+}
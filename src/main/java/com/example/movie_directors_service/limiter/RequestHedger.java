@@ -0,0 +1,138 @@
+package com.example.movie_directors_service.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second copy of an upstream request that is slower than usual and keeps whichever copy
+ * answers first, so one straggling page does not set the latency of a whole catalog crawl.
+ * <p>
+ * The hedge delay is the {@code percentile} of recent successful attempt latencies, never below
+ * {@code min-delay-millis}; until {@value #MIN_SAMPLES} latencies have been seen nothing is hedged.
+ * Every request earns {@code budget-ratio} of a hedge and each hedge spends one, up to a burst of
+ * {@value #MAX_BUDGET}, so hedges stay a fixed fraction of traffic and cannot multiply load while
+ * the upstream is slow or down. A hedge only wins by answering: if it fails, the outcome of the
+ * original request stands. Sent, throttled and winning hedges are counted under
+ * {@code movies.api.page.hedges}.
+ */
+@Component
+public class RequestHedger {
+
+    static final int MIN_SAMPLES = 20;
+    static final double MAX_BUDGET = 10;
+
+    private static final int WINDOW = 512;
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double budgetRatio;
+    private final Counter sentHedges;
+    private final Counter throttledHedges;
+    private final Counter wonHedges;
+
+    private final long[] latencies = new long[WINDOW];
+    private long recorded;
+    private long hedgeDelayNanos = -1;
+    private double budget;
+
+    public RequestHedger(
+            @Value("${movies.api.hedging.enabled:false}") boolean enabled,
+            @Value("${movies.api.hedging.percentile:0.95}") double percentile,
+            @Value("${movies.api.hedging.min-delay-millis:50}") long minDelayMillis,
+            @Value("${movies.api.hedging.budget-ratio:0.05}") double budgetRatio,
+            MeterRegistry meterRegistry) {
+        if (percentile <= 0 || percentile >= 1 || budgetRatio < 0) {
+            throw new IllegalArgumentException("Hedging percentile must be in (0, 1) and budget-ratio non-negative");
+        }
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = Duration.ofMillis(minDelayMillis).toNanos();
+        this.budgetRatio = budgetRatio;
+        this.sentHedges = hedgeCounter("sent", meterRegistry);
+        this.throttledHedges = hedgeCounter("throttled", meterRegistry);
+        this.wonHedges = hedgeCounter("won", meterRegistry);
+    }
+
+    /**
+     * Subscribes to {@code attempt} and, if it has not answered within the hedge delay and the budget
+     * allows, subscribes to it a second time; the first value wins and the other attempt is cancelled.
+     */
+    public <T> Mono<T> hedge(Supplier<Mono<T>> attempt) {
+        if (!enabled) {
+            return attempt.get();
+        }
+        return Mono.defer(() -> {
+            long delay = earnBudgetAndGetDelay();
+            Mono<T> primary = timed(attempt.get());
+            if (delay < 0) {
+                return primary;
+            }
+            Mono<T> hedge = Mono.delay(Duration.ofNanos(delay))
+                    .then(Mono.defer(() -> {
+                        if (!tryAcquireHedge()) {
+                            throttledHedges.increment();
+                            return Mono.<T>never();
+                        }
+                        sentHedges.increment();
+                        return timed(attempt.get())
+                                .doOnNext(value -> wonHedges.increment())
+                                .onErrorResume(error -> Mono.never());
+                    }));
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    /**
+     * Current hedge delay, or {@code null} while there are too few latencies to pick one.
+     */
+    public synchronized Duration getHedgeDelay() {
+        return hedgeDelayNanos < 0 ? null : Duration.ofNanos(hedgeDelayNanos);
+    }
+
+    private <T> Mono<T> timed(Mono<T> attempt) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return attempt.doOnSuccess(value -> recordLatency(System.nanoTime() - startedAt));
+        });
+    }
+
+    private synchronized long earnBudgetAndGetDelay() {
+        budget = Math.min(MAX_BUDGET, budget + budgetRatio);
+        return hedgeDelayNanos;
+    }
+
+    private synchronized boolean tryAcquireHedge() {
+        if (budget < 1) {
+            return false;
+        }
+        budget--;
+        return true;
+    }
+
+    private synchronized void recordLatency(long latencyNanos) {
+        latencies[(int) (recorded % WINDOW)] = latencyNanos;
+        recorded++;
+        if (recorded >= MIN_SAMPLES && (recorded == MIN_SAMPLES || recorded % RECOMPUTE_EVERY == 0)) {
+            long[] window = Arrays.copyOf(latencies, (int) Math.min(recorded, WINDOW));
+            Arrays.sort(window);
+            long atPercentile = window[(int) Math.ceil(percentile * window.length) - 1];
+            hedgeDelayNanos = Math.max(minDelayNanos, atPercentile);
+        }
+    }
+
+    private static Counter hedgeCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("movies.api.page.hedges")
+                .description("Duplicate requests for slow upstream pages: sent, throttled by the budget, or won")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
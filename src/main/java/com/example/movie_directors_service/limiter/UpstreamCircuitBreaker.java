@@ -0,0 +1,165 @@
+package com.example.movie_directors_service.limiter;
+
+import com.example.movie_directors_service.exception.CircuitBreakerOpenException;
+import com.example.movie_directors_service.exception.RateLimitExceededException;
+import com.example.movie_directors_service.exception.UpstreamStatusException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Stops calling the movies API once it keeps failing, so a dead upstream is not hit with a full
+ * page fan-out on every refresh.
+ * <p>
+ * After {@code failure-threshold} consecutive failed calls the breaker opens and rejects calls with
+ * {@link CircuitBreakerOpenException} for {@code open-duration-seconds}. It then lets
+ * {@code half-open-calls} trial calls through: if they succeed it closes again, and the first
+ * failure re-opens it. Client errors other than 429, and requests the rate limiter refused to send,
+ * say nothing about upstream health and are not counted. The state is published as
+ * {@code movies.api.circuit-breaker.state} (0 closed, 1 half open, 2 open).
+ */
+@Slf4j
+@Component
+public class UpstreamCircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final Counter rejectedCalls;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private int halfOpenPermitsLeft;
+    private int halfOpenSuccesses;
+
+    public UpstreamCircuitBreaker(
+            @Value("${movies.api.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${movies.api.circuit-breaker.open-duration-seconds:30}") long openDurationSeconds,
+            @Value("${movies.api.circuit-breaker.half-open-calls:1}") int halfOpenCalls,
+            MeterRegistry meterRegistry) {
+        if (failureThreshold < 1 || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Circuit breaker failure-threshold and half-open-calls must be at least 1");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = Duration.ofSeconds(openDurationSeconds).toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.rejectedCalls = Counter.builder("movies.api.circuit-breaker.rejected")
+                .description("Upstream calls rejected without being made because the circuit breaker was open")
+                .register(meterRegistry);
+        Gauge.builder("movies.api.circuit-breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("Circuit breaker state in front of the movies API: 0 closed, 1 half open, 2 open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to {@code call} if the breaker lets it through, and records its outcome.
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                rejectedCalls.increment();
+                return Mono.error(new CircuitBreakerOpenException("Movies API circuit breaker is open"));
+            }
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call.get()
+                    .doOnSuccess(value -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            onSuccess();
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            onError(error);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            onCancel();
+                        }
+                    });
+        });
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED -> {
+                return true;
+            }
+            case OPEN -> {
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                halfOpenPermitsLeft = halfOpenCalls;
+                halfOpenSuccesses = 0;
+                log.info("Movies API circuit breaker half open, letting {} trial call(s) through", halfOpenCalls);
+            }
+            case HALF_OPEN -> {
+            }
+        }
+        if (halfOpenPermitsLeft == 0) {
+            return false;
+        }
+        halfOpenPermitsLeft--;
+        return true;
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN && ++halfOpenSuccesses >= halfOpenCalls) {
+            state = State.CLOSED;
+            log.info("Movies API circuit breaker closed");
+        }
+    }
+
+    private synchronized void onError(Throwable error) {
+        if (!countsAsFailure(error)) {
+            onCancel();
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            log.warn("Movies API circuit breaker opened after {} consecutive failure(s)", consecutiveFailures);
+        }
+    }
+
+    private synchronized void onCancel() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermitsLeft++;
+        }
+    }
+
+    private static boolean countsAsFailure(Throwable error) {
+        if (error instanceof RateLimitExceededException) {
+            return false;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UpstreamStatusException response) {
+                return !response.getStatusCode().is4xxClientError() || response.getStatusCode().value() == 429;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.movie_directors_service.limiter;
+
+import com.example.movie_directors_service.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide token bucket on requests to the movies API, shared by every crawl, retry and hedge,
+ * so the total request rate stays under {@code requests-per-second} no matter how many callers
+ * trigger fetches at once.
+ * <p>
+ * The bucket holds up to {@code burst} tokens. A request that finds no token reserves the next one
+ * and waits for it on a timer rather than a thread. A request whose wait would exceed
+ * {@code max-wait-millis}, or that finds {@code max-queue} requests already waiting, fails at once
+ * with {@link RateLimitExceededException}. A reservation abandoned by cancellation is not handed
+ * back, which can only lower the rate. The wait queue and the time spent waiting are published as
+ * {@code movies.api.rate-limit.waiting} and {@code movies.api.rate-limit.wait}.
+ */
+@Component
+public class UpstreamRateLimiter {
+
+    private final boolean enabled;
+    private final double tokensPerNano;
+    private final double burst;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+    private final Timer waitTimer;
+    private final Counter rejectedRequests;
+
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+    private int waiting;
+
+    public UpstreamRateLimiter(
+            @Value("${movies.api.rate-limit.enabled:true}") boolean enabled,
+            @Value("${movies.api.rate-limit.requests-per-second:100}") double requestsPerSecond,
+            @Value("${movies.api.rate-limit.burst:20}") int burst,
+            @Value("${movies.api.rate-limit.max-wait-millis:5000}") long maxWaitMillis,
+            @Value("${movies.api.rate-limit.max-queue:1000}") int maxQueue,
+            MeterRegistry meterRegistry) {
+        if (requestsPerSecond <= 0 || burst < 1 || maxQueue < 0) {
+            throw new IllegalArgumentException("Rate limit requests-per-second and burst must be positive and max-queue non-negative");
+        }
+        this.enabled = enabled;
+        this.tokensPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.maxWaitNanos = Duration.ofMillis(maxWaitMillis).toNanos();
+        this.maxQueue = maxQueue;
+        this.tokens = burst;
+        this.waitTimer = Timer.builder("movies.api.rate-limit.wait")
+                .description("Time upstream requests waited for a rate limit token")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedRequests = Counter.builder("movies.api.rate-limit.rejected")
+                .description("Upstream requests failed without being sent because the rate limit wait was too long")
+                .register(meterRegistry);
+        Gauge.builder("movies.api.rate-limit.waiting", this, UpstreamRateLimiter::getWaiting)
+                .description("Upstream requests waiting for a rate limit token")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to {@code call} once a token is available.
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            long wait = reserve();
+            if (wait < 0) {
+                rejectedRequests.increment();
+                return Mono.error(new RateLimitExceededException("Movies API rate limit exceeded"));
+            }
+            waitTimer.record(wait, TimeUnit.NANOSECONDS);
+            if (wait == 0) {
+                return call.get();
+            }
+            return Mono.delay(Duration.ofNanos(wait))
+                    .doOnTerminate(this::leaveQueue)
+                    .doOnCancel(this::leaveQueue)
+                    .then(Mono.defer(call));
+        });
+    }
+
+    public synchronized int getWaiting() {
+        return waiting;
+    }
+
+    /**
+     * Takes a token, returning how long to wait for it in nanoseconds, or -1 if the request should
+     * be rejected instead.
+     */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        long wait = (long) Math.ceil((1 - tokens) / tokensPerNano);
+        if (wait > maxWaitNanos || waiting >= maxQueue) {
+            return -1;
+        }
+        tokens--;
+        waiting++;
+        return wait;
+    }
+
+    private synchronized void leaveQueue() {
+        waiting--;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.movie_directors_service.model;
+
+/**
+ * How much of the upstream catalog a snapshot, and every answer computed from it, was built from.
+ * Pages that kept failing during the crawl leave {@code pagesFetched} short of {@code totalPages}.
+ */
+public record CatalogCoverage(int pagesFetched, int totalPages) {
+
+    /**
+     * Whether every catalog page went into the snapshot.
+     */
+    public boolean isComplete() {
+        return pagesFetched >= totalPages;
+    }
+}
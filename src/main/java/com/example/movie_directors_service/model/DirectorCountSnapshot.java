@@ -0,0 +1,51 @@
+package com.example.movie_directors_service.model;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable point-in-time view of how many movies each director has in the external catalog.
+ * <p>
+ * It also records, as its {@link CatalogCoverage}, how many of the catalog's pages were actually
+ * fetched; pages that kept failing leave a snapshot incomplete.
+ */
+@Getter
+public class DirectorCountSnapshot {
+
+    private final Map<String, Long> directorCounts;
+
+    private final DirectorThresholdIndex thresholdIndex;
+
+    private final CatalogCoverage coverage;
+
+    private final Instant createdAt;
+
+    private DirectorCountSnapshot(Map<String, Long> directorCounts, int pagesFetched, int totalPages, Instant createdAt) {
+        // Not Map.copyOf: its linear probing degrades badly on clustered String hashes such as
+        // numbered director names, which made copying 200k directors take seconds.
+        this.directorCounts = directorCounts == null ? Map.of() : Collections.unmodifiableMap(new HashMap<>(directorCounts));
+        this.thresholdIndex = DirectorThresholdIndex.of(this.directorCounts);
+        this.coverage = new CatalogCoverage(pagesFetched, totalPages);
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * A snapshot known to cover the whole catalog.
+     */
+    public static DirectorCountSnapshot of(Map<String, Long> directorCounts, Instant createdAt) {
+        return new DirectorCountSnapshot(directorCounts, 0, 0, createdAt);
+    }
+
+    public static DirectorCountSnapshot of(Map<String, Long> directorCounts, int pagesFetched, int totalPages, Instant createdAt) {
+        return new DirectorCountSnapshot(directorCounts, pagesFetched, totalPages, createdAt);
+    }
+
+    public boolean isExpired(Duration ttl, Instant now) {
+        return !createdAt.plus(ttl).isAfter(now);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.movie_directors_service.model;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Append-only mapping between director names and dense {@code int} ids, so page tallies and crawl
+ * aggregation can work on ids and primitive arrays instead of one {@code String} per movie and
+ * boxed per-director counts.
+ * <p>
+ * Lookups are lock-free and can be made straight from a parser's character buffer, so a name that
+ * is already known costs no allocation. Only a new name takes the lock. Ids are stable for the life
+ * of the process, which lets tallies cached across refreshes be reused as they are, and each name is
+ * held once no matter how many pages or snapshots mention it. Names are never removed; the
+ * dictionary grows with the number of distinct directors ever seen, not with the catalog size.
+ * <p>
+ * Page decoding and catalog aggregation must share one instance, since ids mean nothing outside
+ * the dictionary that assigned them.
+ */
+@Component
+public final class DirectorDictionary {
+
+    private volatile Table table;
+    private volatile int size;
+
+    public DirectorDictionary(@Value("${movies.catalog.expected-directors:1024}") int expectedNames) {
+        this.table = new Table(Integer.highestOneBit(Math.max(expectedNames, 8) - 1) << 2);
+    }
+
+    public int idOf(String name) {
+        int hash = name.hashCode();
+        int id = find(table, hash, name, null, 0, name.length());
+        return id >= 0 ? id : add(hash, name, null, 0, name.length());
+    }
+
+    /**
+     * Looks up the name held in {@code chars[offset, offset + length)}; a new {@code String} is only
+     * created the first time a name is seen.
+     */
+    public int idOf(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int id = find(table, hash, null, chars, offset, length);
+        return id >= 0 ? id : add(hash, null, chars, offset, length);
+    }
+
+    public String nameOf(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Unknown director id " + id);
+        }
+        return table.names[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private synchronized int add(int hash, String name, char[] chars, int offset, int length) {
+        Table current = table;
+        int id = find(current, hash, name, chars, offset, length);
+        if (id >= 0) {
+            return id;
+        }
+        id = size;
+        if (id == current.names.length) {
+            current = current.grow();
+            table = current;
+        }
+        current.names[id] = name != null ? name : new String(chars, offset, length);
+        // The slot is written last and volatile, so readers that find it also see the name.
+        current.slots.set(current.freeSlot(hash), id + 1);
+        size = id + 1;
+        return id;
+    }
+
+    private static int find(Table table, int hash, String name, char[] chars, int offset, int length) {
+        int mask = table.slots.length() - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table.slots.get(slot);
+            if (entry == 0) {
+                return -1;
+            }
+            String candidate = table.names[entry - 1];
+            if (candidate.hashCode() == hash && candidate.length() == length
+                    && (name != null ? candidate.equals(name) : regionMatches(candidate, chars, offset))) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private static boolean regionMatches(String candidate, char[] chars, int offset) {
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Names like "Director 1234" have clustered {@code String} hashes, which would form long probe
+     * runs; a multiplicative mix scatters them before the low bits pick the slot.
+     */
+    private static int spread(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    /**
+     * Open-addressing table of {@code id + 1} (0 marks a free slot), kept at most half full, plus the
+     * names indexed by id.
+     */
+    private static final class Table {
+
+        private final AtomicIntegerArray slots;
+        private final String[] names;
+
+        private Table(int capacity) {
+            this(new AtomicIntegerArray(capacity), new String[capacity / 2]);
+        }
+
+        private Table(AtomicIntegerArray slots, String[] names) {
+            this.slots = slots;
+            this.names = names;
+        }
+
+        private int freeSlot(int hash) {
+            int mask = slots.length() - 1;
+            int slot = spread(hash) & mask;
+            while (slots.get(slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private Table grow() {
+            Table grown = new Table(new AtomicIntegerArray(slots.length() * 2), Arrays.copyOf(names, names.length * 2));
+            for (int id = 0; id < names.length; id++) {
+                grown.slots.set(grown.freeSlot(names[id].hashCode()), id + 1);
+            }
+            return grown;
+        }
+    }
+}
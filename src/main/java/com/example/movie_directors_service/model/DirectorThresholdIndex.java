@@ -0,0 +1,171 @@
+package com.example.movie_directors_service.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Read-only index over director movie counts that answers "directors with more than N movies, in
+ * alphabetical order" without scanning or sorting the whole map per query.
+ * <p>
+ * Directors are grouped into one bucket per distinct movie count, buckets are laid out by ascending
+ * count, and each bucket is sorted by name. A query binary-searches the first bucket above the
+ * threshold, which also tells how many directors qualify. It then returns a precomputed slice when
+ * one bucket or every director qualifies, k-way merges the qualifying buckets when they are few and
+ * small, and otherwise makes one pass over a name-ordered count column.
+ * <p>
+ * The same buckets, walked from the highest count down, give the most prolific directors without
+ * sorting or heap work.
+ */
+public final class DirectorThresholdIndex {
+
+    /**
+     * Rough cost of one heap step of the k-way merge relative to checking one entry in a linear scan.
+     */
+    private static final int MERGE_COST_FACTOR = 8;
+
+    private static final DirectorThresholdIndex EMPTY = new DirectorThresholdIndex(Map.of());
+
+    private final String[] namesByCountThenName;
+    private final long[] bucketCounts;
+    private final int[] bucketStarts;
+    private final String[] namesByName;
+    private final long[] countsByName;
+    private final List<String> allByName;
+
+    private DirectorThresholdIndex(Map<String, Long> directorCounts) {
+        @SuppressWarnings("unchecked")
+        Map.Entry<String, Long>[] entries = directorCounts.entrySet().toArray(new Map.Entry[0]);
+        Arrays.sort(entries, Map.Entry.<String, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+
+        namesByCountThenName = new String[entries.length];
+        long[] counts = new long[entries.length];
+        int[] starts = new int[entries.length + 1];
+        int buckets = 0;
+        for (int i = 0; i < entries.length; i++) {
+            namesByCountThenName[i] = entries[i].getKey();
+            long count = entries[i].getValue();
+            if (buckets == 0 || counts[buckets - 1] != count) {
+                counts[buckets] = count;
+                starts[buckets] = i;
+                buckets++;
+            }
+        }
+        starts[buckets] = entries.length;
+        bucketCounts = Arrays.copyOf(counts, buckets);
+        bucketStarts = Arrays.copyOf(starts, buckets + 1);
+
+        Arrays.sort(entries, Map.Entry.comparingByKey());
+        namesByName = new String[entries.length];
+        countsByName = new long[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            namesByName[i] = entries[i].getKey();
+            countsByName[i] = entries[i].getValue();
+        }
+        allByName = Collections.unmodifiableList(Arrays.asList(namesByName));
+    }
+
+    public static DirectorThresholdIndex of(Map<String, Long> directorCounts) {
+        return directorCounts == null || directorCounts.isEmpty() ? EMPTY : new DirectorThresholdIndex(directorCounts);
+    }
+
+    /**
+     * Returns the directors with strictly more than {@code threshold} movies, alphabetically.
+     */
+    public List<String> directorsAbove(long threshold) {
+        int firstBucket = firstBucketAbove(threshold);
+        int buckets = bucketCounts.length;
+        if (firstBucket == buckets) {
+            return List.of();
+        }
+        if (firstBucket == 0) {
+            return allByName;
+        }
+        if (firstBucket == buckets - 1) {
+            return slice(firstBucket);
+        }
+        int qualifying = namesByName.length - bucketStarts[firstBucket];
+        int mergedBuckets = buckets - firstBucket;
+        if ((long) qualifying * (32 - Integer.numberOfLeadingZeros(mergedBuckets)) * MERGE_COST_FACTOR < namesByName.length) {
+            return merge(firstBucket, qualifying);
+        }
+        return scan(threshold, qualifying);
+    }
+
+    /**
+     * Identifies the answer {@link #directorsAbove(long)} gives for {@code threshold}: two thresholds
+     * get the same list exactly when they get the same key. Keys range from 0 (every director) to
+     * the number of distinct movie counts (nobody), so thresholds between two neighbouring counts
+     * share one.
+     */
+    public int answerKey(long threshold) {
+        return firstBucketAbove(threshold);
+    }
+
+    /**
+     * Returns up to {@code k} directors with the most movies, by descending count and then by name,
+     * as name/count entries. Costs O(k) plus the number of buckets visited.
+     */
+    public List<Map.Entry<String, Long>> top(int k) {
+        int size = Math.min(Math.max(k, 0), namesByCountThenName.length);
+        List<Map.Entry<String, Long>> top = new ArrayList<>(size);
+        for (int bucket = bucketCounts.length - 1; bucket >= 0 && top.size() < size; bucket--) {
+            int end = Math.min(bucketStarts[bucket + 1], bucketStarts[bucket] + size - top.size());
+            for (int i = bucketStarts[bucket]; i < end; i++) {
+                top.add(Map.entry(namesByCountThenName[i], bucketCounts[bucket]));
+            }
+        }
+        return Collections.unmodifiableList(top);
+    }
+
+    private int firstBucketAbove(long threshold) {
+        int low = 0;
+        int high = bucketCounts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bucketCounts[mid] > threshold) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private List<String> slice(int bucket) {
+        return Collections.unmodifiableList(
+                Arrays.asList(namesByCountThenName).subList(bucketStarts[bucket], bucketStarts[bucket + 1]));
+    }
+
+    private List<String> scan(long threshold, int qualifying) {
+        List<String> matches = new ArrayList<>(qualifying);
+        for (int i = 0; i < countsByName.length; i++) {
+            if (countsByName[i] > threshold) {
+                matches.add(namesByName[i]);
+            }
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    private List<String> merge(int firstBucket, int qualifying) {
+        int buckets = bucketCounts.length;
+        List<String> merged = new ArrayList<>(qualifying);
+        PriorityQueue<int[]> cursors = new PriorityQueue<>(buckets - firstBucket,
+                Comparator.comparing((int[] cursor) -> namesByCountThenName[cursor[0]]));
+        for (int bucket = firstBucket; bucket < buckets; bucket++) {
+            cursors.add(new int[]{bucketStarts[bucket], bucketStarts[bucket + 1]});
+        }
+        while (!cursors.isEmpty()) {
+            int[] cursor = cursors.poll();
+            merged.add(namesByCountThenName[cursor[0]]);
+            if (++cursor[0] < cursor[1]) {
+                cursors.add(cursor);
+            }
+        }
+        return Collections.unmodifiableList(merged);
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.movie_directors_service.service;
+
+import com.example.movie_directors_service.client.MoviesSource;
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.exception.CircuitBreakerOpenException;
+import com.example.movie_directors_service.exception.ExternalApiException;
+import com.example.movie_directors_service.limiter.AdaptiveConcurrencyLimiter;
+import com.example.movie_directors_service.limiter.UpstreamCircuitBreaker;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Crawls the external catalog through the configured {@link MoviesSource} and reduces it to a
+ * {@link DirectorCountSnapshot}.
+ * <p>
+ * Pages are folded into a running per-director tally as they arrive and no movie is kept once its
+ * page has been counted. Without incremental sync the tally is bounded by the number of distinct
+ * directors; with it, the default, the compact {@link DirectorTallyPage} of every page is kept as
+ * well, so memory also grows with the number of pages, by one entry per distinct director on each.
+ * How many pages are in flight at once is governed by the {@link AdaptiveConcurrencyLimiter}.
+ * <p>
+ * Each crawl is timed as {@code movies.catalog.crawl}, and pages that still fail after the client's
+ * retries are left out of the snapshot, which then reports itself as incomplete, and are counted as
+ * {@code movies.catalog.pages.dropped}. Every fetch goes through the {@link UpstreamCircuitBreaker};
+ * once it opens the crawl is abandoned instead of dropping the remaining pages one by one.
+ * <p>
+ * With {@code movies.catalog.incremental-sync.enabled} the per-page tallies of the last sync are
+ * kept, and a reload revalidates every page instead of re-aggregating the catalog. The source sends
+ * each page it has seen as a conditional request, so an unchanged page costs a bodiless
+ * {@code 304 Not Modified}; a page that came back different, wherever it sits in the catalog, is
+ * subtracted from the aggregate in its old form and added in its new one, and only those pages are
+ * refolded. The whole catalog is still crawled once {@code full-sync-interval-seconds} have passed
+ * since the last full crawl, and straight away when the catalog shrank. Syncs are counted by mode as
+ * {@code movies.catalog.syncs}.
+ */
+@Slf4j
+@Component
+public class DirectorCountLoader {
+
+    private final MoviesSource moviesSource;
+    private final DirectorDictionary dictionary;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final UpstreamCircuitBreaker circuitBreaker;
+    private final boolean incrementalSync;
+    private final Duration fullSyncInterval;
+    private final MeterRegistry meterRegistry;
+    private final Counter droppedPages;
+    private final Counter fullSyncs;
+    private final Counter incrementalSyncs;
+    private final AtomicReference<CatalogTally> lastSync = new AtomicReference<>();
+
+    public DirectorCountLoader(
+            MoviesSource moviesSource,
+            DirectorDictionary dictionary,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            UpstreamCircuitBreaker circuitBreaker,
+            @Value("${movies.catalog.incremental-sync.enabled:true}") boolean incrementalSync,
+            @Value("${movies.catalog.incremental-sync.full-sync-interval-seconds:3600}") long fullSyncIntervalSeconds,
+            MeterRegistry meterRegistry) {
+        this.moviesSource = moviesSource;
+        this.dictionary = dictionary;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.incrementalSync = incrementalSync;
+        this.fullSyncInterval = Duration.ofSeconds(fullSyncIntervalSeconds);
+        this.meterRegistry = meterRegistry;
+        this.droppedPages = Counter.builder("movies.catalog.pages.dropped")
+                .description("Catalog pages left out of a snapshot because fetching them failed")
+                .register(meterRegistry);
+        this.fullSyncs = syncCounter("full", meterRegistry);
+        this.incrementalSyncs = syncCounter("incremental", meterRegistry);
+    }
+
+    public Mono<DirectorCountSnapshot> loadSnapshot() {
+        return Mono.defer(() -> {
+            Timer.Sample crawl = Timer.start(meterRegistry);
+            CatalogTally previous = incrementalSync ? lastSync.get() : null;
+            Mono<CatalogTally> sync = previous == null || previous.isFullSyncDue(fullSyncInterval, Instant.now())
+                    ? crawlCatalog()
+                    : syncChangedPages(previous);
+            return sync
+                    .doOnNext(tally -> {
+                        if (incrementalSync) {
+                            lastSync.set(tally);
+                        }
+                    })
+                    .publishOn(Schedulers.parallel())
+                    .map(tally -> DirectorCountSnapshot.of(tally.directorCounts(), tally.pagesFetched, tally.totalPages, Instant.now()))
+                    .doOnSuccess(snapshot -> crawl.stop(crawlTimer(snapshot.getCoverage().isComplete() ? "success" : "partial")))
+                    .doOnError(error -> crawl.stop(crawlTimer("error")));
+        });
+    }
+
+    private Mono<CatalogTally> crawlCatalog() {
+        return fetchFirstPage().flatMap(this::crawlFrom);
+    }
+
+    private Mono<CatalogTally> crawlFrom(DirectorTallyPage firstPage) {
+        fullSyncs.increment();
+        int totalPages = firstPage.getTotalPages();
+        CatalogTally tally = new CatalogTally(Math.max(1, totalPages), firstPage.getTotal(), incrementalSync, Instant.now())
+                .put(1, firstPage);
+
+        if (totalPages <= 1) {
+            return Mono.just(tally);
+        }
+        return fetchInto(tally, Flux.range(2, totalPages - 1));
+    }
+
+    /**
+     * Brings {@code previous} up to date by revalidating every page of the catalog, refolding only
+     * the pages that changed, or crawls the whole catalog when the first page shows that it shrank.
+     */
+    private Mono<CatalogTally> syncChangedPages(CatalogTally previous) {
+        return fetchFirstPage().flatMap(firstPage -> {
+            if (firstPage.getTotalPages() < previous.totalPages || firstPage.getTotal() < previous.total) {
+                log.info("The catalog shrank since the last sync, crawling it in full");
+                return crawlFrom(firstPage);
+            }
+            incrementalSyncs.increment();
+            int totalPages = Math.max(1, firstPage.getTotalPages());
+            CatalogTally tally = previous.extendedTo(totalPages, firstPage.getTotal())
+                    .put(1, firstPage);
+            return fetchInto(tally, Flux.range(2, totalPages - 1))
+                    .doOnNext(synced -> log.debug("Incremental catalog sync revalidated {} pages, {} of them changed",
+                            totalPages, synced.changedPages));
+        });
+    }
+
+    /**
+     * The first page, whose {@code total_pages} sizes the crawl, so a source that answers it with
+     * nothing fails the sync rather than completing it empty.
+     */
+    private Mono<DirectorTallyPage> fetchFirstPage() {
+        return circuitBreaker.execute(() -> moviesSource.fetchDirectorTallyPage(1))
+                .switchIfEmpty(Mono.error(() -> new ExternalApiException("The movies API returned no first catalog page")));
+    }
+
+    private Mono<CatalogTally> fetchInto(CatalogTally tally, Flux<Integer> pages) {
+        return pages
+                .flatMap(page -> circuitBreaker.execute(() -> concurrencyLimiter.execute(() -> moviesSource.fetchDirectorTallyPage(page)))
+                                .map(fetched -> Tuples.of(page, fetched))
+                                .onErrorResume(error -> !(error instanceof CircuitBreakerOpenException), error -> skipPage(tally, page, error)),
+                        concurrencyLimiter.getMaxLimit())
+                .reduce(tally, (current, fetched) -> current.put(fetched.getT1(), fetched.getT2()));
+    }
+
+    /**
+     * Leaves out a page that could not be fetched. A page the tally already holds from an earlier
+     * sync keeps that tally rather than dropping out of the snapshot.
+     */
+    private <T> Mono<T> skipPage(CatalogTally tally, int page, Throwable error) {
+        if (tally.has(page)) {
+            log.debug("Keeping the last tally of catalog page {} after a failed refetch", page, error);
+        } else {
+            droppedPages.increment();
+            log.debug("Dropping catalog page {} from the snapshot", page, error);
+        }
+        return Mono.empty();
+    }
+
+    private Timer crawlTimer(String outcome) {
+        return Timer.builder("movies.catalog.crawl")
+                .description("Time to crawl the whole upstream catalog into a snapshot")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter syncCounter(String mode, MeterRegistry meterRegistry) {
+        return Counter.builder("movies.catalog.syncs")
+                .description("Catalog syncs that re-aggregated every page (full) or refolded only the pages that changed (incremental)")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Running per-director tally of one sync, plus how many pages made it into it. Counts are kept
+     * in a primitive array indexed by {@link DirectorDictionary} id and only turned into names once,
+     * when the snapshot is built. For incremental syncs the tally also keeps each page's own tally,
+     * so a page that changes can be taken back out.
+     */
+    private final class CatalogTally {
+
+        private long[] counts;
+        private final DirectorTallyPage[] pages;
+        private final int totalPages;
+        private final int total;
+        private final Instant fullSyncAt;
+        private int pagesFetched;
+        private int changedPages;
+
+        private CatalogTally(int totalPages, int total, boolean keepPages, Instant fullSyncAt) {
+            this(new long[dictionary.size()], keepPages ? new DirectorTallyPage[totalPages] : null,
+                    totalPages, total, fullSyncAt, 0);
+        }
+
+        private CatalogTally(long[] counts, DirectorTallyPage[] pages, int totalPages, int total, Instant fullSyncAt,
+                             int pagesFetched) {
+            this.counts = counts;
+            this.pages = pages;
+            this.totalPages = totalPages;
+            this.total = total;
+            this.fullSyncAt = fullSyncAt;
+            this.pagesFetched = pagesFetched;
+        }
+
+        /**
+         * Copy of this tally for a catalog that has grown to {@code totalPages}, leaving this one
+         * untouched for whoever still reads it.
+         */
+        private CatalogTally extendedTo(int totalPages, int total) {
+            return new CatalogTally(counts.clone(), Arrays.copyOf(pages, totalPages), totalPages, total, fullSyncAt,
+                    pagesFetched);
+        }
+
+        private boolean isFullSyncDue(Duration interval, Instant now) {
+            return !fullSyncAt.plus(interval).isAfter(now);
+        }
+
+        private boolean has(int page) {
+            return pages != null && pages[page - 1] != null;
+        }
+
+        private CatalogTally put(int page, DirectorTallyPage tally) {
+            DirectorTallyPage previous = pages == null ? null : pages[page - 1];
+            if (previous == null) {
+                pagesFetched++;
+                fold(tally, 1);
+            } else if (!previous.hasSameDirectorsAs(tally)) {
+                changedPages++;
+                fold(previous, -1);
+                fold(tally, 1);
+            }
+            if (pages != null) {
+                pages[page - 1] = tally;
+            }
+            return this;
+        }
+
+        private void fold(DirectorTallyPage page, int sign) {
+            for (int i = 0; i < page.directorCount(); i++) {
+                int id = page.directorId(i);
+                if (id >= counts.length) {
+                    counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+                }
+                counts[id] += sign * page.movies(i);
+            }
+        }
+
+        private Map<String, Long> directorCounts() {
+            int directors = 0;
+            for (long count : counts) {
+                if (count > 0) {
+                    directors++;
+                }
+            }
+            Map<String, Long> directorCounts = HashMap.newHashMap(directors);
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] > 0) {
+                    directorCounts.put(dictionary.nameOf(id), counts[id]);
+                }
+            }
+            return directorCounts;
+        }
+    }
+}
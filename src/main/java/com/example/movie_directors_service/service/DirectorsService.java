@@ -1,8 +1,19 @@
 package com.example.movie_directors_service.service;
 
-import com.example.movie_directors_service.dto.response.DirectorsResponse;
+import com.example.movie_directors_service.dto.response.DirectorsBatchResponse;
+import com.example.movie_directors_service.dto.response.DirectorsStreamResponse;
+import com.example.movie_directors_service.dto.response.EncodedDirectorsResponse;
+import com.example.movie_directors_service.dto.response.TopDirectorsResponse;
 import reactor.core.publisher.Mono;
 
 public interface DirectorsService {
-    Mono<DirectorsResponse> getDirectorsAboveThreshold(Long threshold);
+    Mono<EncodedDirectorsResponse> getEncodedDirectorsAboveThreshold(Long threshold);
+
+    Mono<DirectorsStreamResponse> streamDirectorsAboveThreshold(Long threshold);
+
+    Mono<DirectorsBatchResponse> getDirectorsAboveThresholds(long[] thresholds);
+
+    Mono<TopDirectorsResponse> getTopDirectors(int k);
+
+    Mono<byte[]> exportSnapshot();
 }
\ No newline at end of file
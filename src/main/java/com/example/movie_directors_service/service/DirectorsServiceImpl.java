@@ -1,81 +1,142 @@
 package com.example.movie_directors_service.service;
 
-import com.example.movie_directors_service.client.MoviesApiClient;
+import com.example.movie_directors_service.cache.DirectorSnapshotCache;
+import com.example.movie_directors_service.cache.DirectorSnapshotCodec;
+import com.example.movie_directors_service.cache.DirectorsResponseCache;
+import com.example.movie_directors_service.model.DirectorThresholdIndex;
+import com.example.movie_directors_service.dto.response.DirectorCountResponse;
+import com.example.movie_directors_service.dto.response.DirectorsBatchResponse;
 import com.example.movie_directors_service.dto.response.DirectorsResponse;
-import com.example.movie_directors_service.dto.response.MoviesPageResponse;
-import com.example.movie_directors_service.model.Movie;
+import com.example.movie_directors_service.dto.response.DirectorsStreamResponse;
+import com.example.movie_directors_service.dto.response.EncodedDirectorsResponse;
+import com.example.movie_directors_service.dto.response.TopDirectorsResponse;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class DirectorsServiceImpl implements DirectorsService {
 
-    private final MoviesApiClient moviesApiClient;
+    private final DirectorSnapshotCache snapshotCache;
+    private final DirectorsResponseCache responseCache;
+    private final Duration maxAge;
+    private volatile ExportedSnapshot lastExport;
 
-    public DirectorsServiceImpl(MoviesApiClient moviesApiClient) {
-        this.moviesApiClient = moviesApiClient;
+    public DirectorsServiceImpl(
+            DirectorSnapshotCache snapshotCache,
+            DirectorsResponseCache responseCache,
+            @Value("${movies.http.directors.max-age-seconds:${movies.cache.refresh-interval-seconds:240}}")
+            long maxAgeSeconds) {
+        this.snapshotCache = snapshotCache;
+        this.responseCache = responseCache;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
     }
 
+    /**
+     * The directors with more than {@code threshold} movies, in name order, as the JSON body of a
+     * {@link DirectorsResponse}. Bodies are reused from {@link DirectorsResponseCache} for as long as
+     * the snapshot they were encoded from is served.
+     * <p>
+     * The ETag names the snapshot by its creation time and the answer by its
+     * {@link DirectorThresholdIndex#answerKey(long) key}, so thresholds with the same directors share
+     * it. The time is taken in epoch milliseconds, the precision {@link DirectorSnapshotCodec} keeps,
+     * so replicas bootstrapped from one snapshot agree on it. It is weak because the server may gzip
+     * the body: the identity and compressed encodings are the same answer but not the same bytes.
+     * The answer stays fresh for what is left of {@code movies.http.directors.max-age-seconds} (the
+     * refresh interval by default) since the snapshot was built.
+     */
     @Override
-    public Mono<DirectorsResponse> getDirectorsAboveThreshold(Long threshold) {
-        return fetchAllMovies()
-                .map(movies -> {
-                    Map<String, Long> directorCounts = countMoviesByDirector(movies);
-                    List<String> filteredDirectors = filterDirectorsAboveThreshold(directorCounts, threshold);
-                    return DirectorsResponse.of(filteredDirectors);
-                });
+    public Mono<EncodedDirectorsResponse> getEncodedDirectorsAboveThreshold(Long threshold) {
+        return snapshotCache.get()
+                .map(snapshot -> EncodedDirectorsResponse.of(
+                        eTag(snapshot, threshold),
+                        remainingLifetime(snapshot, Instant.now()),
+                        () -> responseCache.get(snapshot, threshold),
+                        snapshot.getCoverage()));
     }
 
-    private Mono<List<Movie>> fetchAllMovies() {
-        return moviesApiClient.fetchMoviesPage(1)
-                .flatMap(firstPage -> {
-                    int totalPages = firstPage.getTotalPages();
-                    List<Movie> allMovies = new ArrayList<>(firstPage.getData() != null ? firstPage.getData() : List.of());
+    /**
+     * Streams the same directors as {@link #getEncodedDirectorsAboveThreshold(Long)}, each with its
+     * movie count. Elements are built lazily from the snapshot's index as the subscriber requests
+     * them, so the first one can be written before the rest of the answer is serialized.
+     */
+    @Override
+    public Mono<DirectorsStreamResponse> streamDirectorsAboveThreshold(Long threshold) {
+        return snapshotCache.get()
+                .map(snapshot -> {
+                    Map<String, Long> counts = snapshot.getDirectorCounts();
+                    Flux<DirectorCountResponse> directors = Flux
+                            .fromIterable(snapshot.getThresholdIndex().directorsAbove(threshold))
+                            .map(director -> DirectorCountResponse.of(director, counts.get(director)));
+                    return DirectorsStreamResponse.of(directors, snapshot.getCoverage());
+                });
+    }
 
-                    if (totalPages <= 1) {
-                        return Mono.just(allMovies);
+    /**
+     * Answers every threshold from one snapshot, so the lists are mutually consistent and cost a
+     * single cache lookup (or a single crawl when the cache is cold). Repeated thresholds are
+     * answered once.
+     */
+    @Override
+    public Mono<DirectorsBatchResponse> getDirectorsAboveThresholds(long[] thresholds) {
+        return snapshotCache.get()
+                .map(snapshot -> {
+                    DirectorThresholdIndex index = snapshot.getThresholdIndex();
+                    Map<Long, List<String>> directors = new LinkedHashMap<>();
+                    for (long threshold : thresholds) {
+                        directors.computeIfAbsent(threshold, index::directorsAbove);
                     }
+                    return DirectorsBatchResponse.of(directors, snapshot.getCoverage());
+                });
+    }
 
-                    Flux<MoviesPageResponse> remainingPages = Flux.range(2, totalPages - 1)
-                            .flatMap(page -> moviesApiClient.fetchMoviesPage(page)
-                                            .onErrorResume(e -> Mono.empty()),  // ← SOLO ESTA LÍNEA NUEVA
-                                    5);
+    @Override
+    public Mono<TopDirectorsResponse> getTopDirectors(int k) {
+        return snapshotCache.get()
+                .map(snapshot -> TopDirectorsResponse.of(
+                        snapshot.getThresholdIndex().top(k).stream()
+                                .map(entry -> DirectorCountResponse.of(entry.getKey(), entry.getValue()))
+                                .toList(),
+                        snapshot.getCoverage()));
+    }
 
-                    return remainingPages
-                            .map(MoviesPageResponse::getData)
-                            .collectList()
-                            .map(pageDataList -> {
-                                for (List<Movie> pageData : pageDataList) {
-                                    if (pageData != null) {
-                                        allMovies.addAll(pageData);
-                                    }
-                                }
-                                return allMovies;
-                            });
+    /**
+     * The snapshot being served, in {@link DirectorSnapshotCodec} form, for other instances to
+     * bootstrap from. Completes empty while nothing is loaded; it never starts a crawl, so a cold
+     * peer cannot make its callers wait on the upstream. Encoded once per snapshot.
+     */
+    @Override
+    public Mono<byte[]> exportSnapshot() {
+        return Mono.fromSupplier(() -> snapshotCache.peek()
+                .map(snapshot -> {
+                    ExportedSnapshot exported = lastExport;
+                    if (exported == null || exported.snapshot() != snapshot) {
+                        exported = new ExportedSnapshot(snapshot, DirectorSnapshotCodec.encode(snapshot));
+                        lastExport = exported;
+                    }
+                    return exported.bytes();
                 })
-                .onErrorReturn(List.of());
+                .orElse(null));
+    }
+
+    private static String eTag(DirectorCountSnapshot snapshot, long threshold) {
+        return "W/\"" + Long.toHexString(snapshot.getCreatedAt().toEpochMilli())
+                + "-" + Integer.toHexString(snapshot.getThresholdIndex().answerKey(threshold)) + "\"";
     }
 
-    private Map<String, Long> countMoviesByDirector(List<Movie> movies) {
-        return movies.stream()
-                .filter(Movie::hasValidDirector)
-                .collect(Collectors.groupingBy(
-                        Movie::getDirector,
-                        Collectors.counting()
-                ));
+    private Duration remainingLifetime(DirectorCountSnapshot snapshot, Instant now) {
+        Duration remaining = maxAge.minus(Duration.between(snapshot.getCreatedAt(), now));
+        return remaining.isNegative() ? Duration.ZERO : remaining.compareTo(maxAge) > 0 ? maxAge : remaining;
     }
 
-    private List<String> filterDirectorsAboveThreshold(Map<String, Long> directorCounts, Long threshold) {
-        return directorCounts.entrySet().stream()
-                .filter(entry -> entry.getValue() > threshold)
-                .map(Map.Entry::getKey)
-                .sorted()
-                .collect(Collectors.toList());
+    private record ExportedSnapshot(DirectorCountSnapshot snapshot, byte[] bytes) {
     }
-}
\ No newline at end of file
+}
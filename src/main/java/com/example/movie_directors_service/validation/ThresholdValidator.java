@@ -3,9 +3,13 @@ package com.example.movie_directors_service.validation;
 import com.example.movie_directors_service.exception.InvalidParameterException;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+
 @Component
 public class ThresholdValidator {
 
+    public static final int MAX_THRESHOLDS = 64;
+
     public long parseAndValidate(String thresholdParam) {
         if (thresholdParam == null || thresholdParam.trim().isEmpty()) {
             throw new InvalidParameterException("Parameter 'threshold' cannot be empty or blank");
@@ -23,5 +27,103 @@ public class ThresholdValidator {
                     e);
         }
     }
-}
 
+    /**
+     * Parses the {@code k} of a top-k query, which must be a positive number. Values beyond
+     * {@link Integer#MAX_VALUE} are clamped, as no catalog has that many directors.
+     */
+    public int parseAndValidateLimit(String limitParam) {
+        if (limitParam == null || limitParam.trim().isEmpty()) {
+            throw new InvalidParameterException("Parameter 'k' cannot be empty or blank");
+        }
+
+        try {
+            long limit = Long.parseLong(limitParam.trim());
+            if (limit < 1) {
+                throw new InvalidParameterException("Parameter 'k' must be positive");
+            }
+            return (int) Math.min(limit, Integer.MAX_VALUE);
+        } catch (NumberFormatException e) {
+            throw new InvalidParameterException(
+                    "Invalid value for parameter 'k': '" + limitParam + "' must be a valid number",
+                    e);
+        }
+    }
+
+    /**
+     * Parses a comma-separated list of thresholds such as {@code "1, 3,5"}, keeping request order.
+     * <p>
+     * Elements are scanned digit by digit instead of going through {@link Long#parseLong}, so a long
+     * list costs no exception per element and only the first invalid element raises one.
+     */
+    public long[] parseAndValidateList(String thresholdsParam) {
+        if (thresholdsParam == null || thresholdsParam.isBlank()) {
+            throw new InvalidParameterException("Parameter 'thresholds' cannot be empty or blank");
+        }
+
+        long[] thresholds = new long[MAX_THRESHOLDS];
+        int count = 0;
+        int start = 0;
+        while (start <= thresholdsParam.length()) {
+            int end = thresholdsParam.indexOf(',', start);
+            if (end < 0) {
+                end = thresholdsParam.length();
+            }
+            if (count == MAX_THRESHOLDS) {
+                throw new InvalidParameterException("At most " + MAX_THRESHOLDS + " thresholds can be requested at once");
+            }
+            thresholds[count++] = parseElement(thresholdsParam, start, end);
+            start = end + 1;
+        }
+        return Arrays.copyOf(thresholds, count);
+    }
+
+    private long parseElement(String thresholdsParam, int start, int end) {
+        while (start < end && Character.isWhitespace(thresholdsParam.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(thresholdsParam.charAt(end - 1))) {
+            end--;
+        }
+        // An optional sign, as Long.parseLong allows for a single threshold, so "+5" and "-0" are
+        // read the same way in both parameters.
+        int digits = start;
+        boolean negative = false;
+        if (start < end && (thresholdsParam.charAt(start) == '+' || thresholdsParam.charAt(start) == '-')) {
+            negative = thresholdsParam.charAt(start) == '-';
+            digits++;
+        }
+        if (digits == end || !isDigits(thresholdsParam, digits, end)) {
+            throw invalidElement(thresholdsParam, start, end);
+        }
+
+        long value = 0;
+        for (int i = digits; i < end; i++) {
+            int digit = thresholdsParam.charAt(i) - '0';
+            if (value > (Long.MAX_VALUE - digit) / 10) {
+                throw invalidElement(thresholdsParam, start, end);
+            }
+            value = value * 10 + digit;
+        }
+        if (negative && value != 0) {
+            throw new InvalidParameterException("Threshold must be non-negative");
+        }
+        return value;
+    }
+
+    private static boolean isDigits(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static InvalidParameterException invalidElement(String thresholdsParam, int start, int end) {
+        return new InvalidParameterException(
+                "Invalid value in parameter 'thresholds': '" + thresholdsParam.substring(start, end)
+                        + "' must be a valid number");
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.movie_directors_service.unit.cache;
+
+import com.example.movie_directors_service.cache.DirectorSnapshotCache;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import com.example.movie_directors_service.service.DirectorCountLoader;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DirectorSnapshotCacheTest {
+
+    @Mock
+    private DirectorCountLoader loader;
+
+    @Test
+    void refresh_swapsInNewSnapshot() {
+        DirectorCountSnapshot first = snapshot(Map.of("Director A", 1L));
+        DirectorCountSnapshot second = snapshot(Map.of("Director B", 2L));
+        when(loader.loadSnapshot()).thenReturn(Mono.just(first), Mono.just(second));
+
+        DirectorSnapshotCache cache = new DirectorSnapshotCache(loader, 300, new SimpleMeterRegistry());
+
+        StepVerifier.create(cache.refresh()).expectNext(first).verifyComplete();
+        StepVerifier.create(cache.refresh()).expectNext(second).verifyComplete();
+        StepVerifier.create(cache.get()).expectNext(second).verifyComplete();
+
+        verify(loader, times(2)).loadSnapshot();
+    }
+
+    @Test
+    void refresh_keepsServingPreviousSnapshotWhenReloadFails() {
+        DirectorCountSnapshot previous = snapshot(Map.of("Director A", 3L));
+        when(loader.loadSnapshot())
+                .thenReturn(Mono.just(previous), Mono.error(new RuntimeException("upstream down")));
+
+        DirectorSnapshotCache cache = new DirectorSnapshotCache(loader, 300, new SimpleMeterRegistry());
+
+        StepVerifier.create(cache.refresh()).expectNext(previous).verifyComplete();
+        StepVerifier.create(cache.refresh()).expectNext(previous).verifyComplete();
+        StepVerifier.create(cache.get()).expectNext(previous).verifyComplete();
+    }
+
+    @Test
+    void get_servesStaleSnapshotWhenExpiredReloadFails() {
+        DirectorCountSnapshot stale = snapshot(Map.of("Director A", 3L));
+        when(loader.loadSnapshot())
+                .thenReturn(Mono.just(stale), Mono.error(new RuntimeException("upstream down")));
+
+        DirectorSnapshotCache cache = new DirectorSnapshotCache(loader, 0, new SimpleMeterRegistry());
+
+        StepVerifier.create(cache.get()).expectNext(stale).verifyComplete();
+        StepVerifier.create(cache.get()).expectNext(stale).verifyComplete();
+
+        verify(loader, times(2)).loadSnapshot();
+    }
+
+    @Test
+    void get_propagatesErrorWhenNothingWasEverLoaded() {
+        when(loader.loadSnapshot()).thenReturn(Mono.error(new RuntimeException("upstream down")));
+
+        DirectorSnapshotCache cache = new DirectorSnapshotCache(loader, 300, new SimpleMeterRegistry());
+
+        StepVerifier.create(cache.get())
+                .expectErrorMessage("upstream down")
+                .verify();
+    }
+
+    @Test
+    void get_concurrentCallersOnColdCacheShareOneUpstreamLoad() {
+        DirectorCountSnapshot loaded = snapshot(Map.of("Director A", 2L));
+        Sinks.One<DirectorCountSnapshot> upstream = Sinks.one();
+        when(loader.loadSnapshot()).thenReturn(upstream.asMono());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DirectorSnapshotCache cache = new DirectorSnapshotCache(loader, 300, meterRegistry);
+
+        StepVerifier.create(Flux.range(0, 200).flatMap(caller -> cache.get()).collectList())
+                .then(() -> upstream.tryEmitValue(loaded))
+                .assertNext(results -> {
+                    assertEquals(200, results.size());
+                    results.forEach(result -> assertSame(loaded, result));
+                })
+                .verifyComplete();
+
+        verify(loader, times(1)).loadSnapshot();
+
+        DistributionSummary joiners = meterRegistry.get("movies.cache.load.joiners").summary();
+        assertEquals(1, joiners.count());
+        assertEquals(199, joiners.totalAmount());
+    }
+
+    @Test
+    void refresh_startsNewLoadOnceThePreviousOneFinished() {
+        when(loader.loadSnapshot()).thenReturn(
+                Mono.just(snapshot(Map.of("Director A", 1L))),
+                Mono.just(snapshot(Map.of("Director B", 1L))));
+
+        DirectorSnapshotCache cache = new DirectorSnapshotCache(loader, 300, new SimpleMeterRegistry());
+
+        StepVerifier.create(Flux.concat(cache.refresh(), cache.refresh())
+                        .map(snapshot -> List.copyOf(snapshot.getDirectorCounts().keySet())))
+                .expectNext(List.of("Director A"))
+                .expectNext(List.of("Director B"))
+                .verifyComplete();
+
+        verify(loader, times(2)).loadSnapshot();
+    }
+
+    @Test
+    void get_servesExpiredSeedImmediatelyWhileReloadingInBackground() {
+        DirectorCountSnapshot seeded = DirectorCountSnapshot.of(Map.of("Director A", 1L), Instant.now().minusSeconds(3600));
+        DirectorCountSnapshot loaded = snapshot(Map.of("Director B", 2L));
+        Sinks.One<DirectorCountSnapshot> upstream = Sinks.one();
+        when(loader.loadSnapshot()).thenReturn(upstream.asMono());
+
+        DirectorSnapshotCache cache = new DirectorSnapshotCache(loader, 300, new SimpleMeterRegistry());
+        List<DirectorCountSnapshot> persisted = new ArrayList<>();
+        cache.loadedSnapshots().subscribe(persisted::add);
+
+        assertTrue(cache.seed(seeded));
+        StepVerifier.create(cache.get()).expectNext(seeded).verifyComplete();
+        StepVerifier.create(cache.get()).expectNext(seeded).verifyComplete();
+        verify(loader, times(1)).loadSnapshot();
+
+        upstream.tryEmitValue(loaded);
+        StepVerifier.create(cache.get()).expectNext(loaded).verifyComplete();
+        assertEquals(List.of(loaded), persisted);
+        assertFalse(cache.seed(seeded));
+    }
+
+    @Test
+    void refresh_partialReloadDoesNotReplaceFreshCompleteSnapshot() {
+        DirectorCountSnapshot complete = DirectorCountSnapshot.of(Map.of("Director A", 3L), 3, 3, Instant.now());
+        DirectorCountSnapshot partial = DirectorCountSnapshot.of(Map.of("Director A", 1L), 1, 3, Instant.now());
+        when(loader.loadSnapshot()).thenReturn(Mono.just(complete), Mono.just(partial));
+
+        DirectorSnapshotCache cache = new DirectorSnapshotCache(loader, 300, new SimpleMeterRegistry());
+
+        StepVerifier.create(cache.refresh()).expectNext(complete).verifyComplete();
+        StepVerifier.create(cache.refresh()).expectNext(complete).verifyComplete();
+        StepVerifier.create(cache.get()).expectNext(complete).verifyComplete();
+    }
+
+    @Test
+    void get_partialReloadReplacesExpiredSnapshot() {
+        DirectorCountSnapshot complete = DirectorCountSnapshot.of(Map.of("Director A", 3L), 3, 3, Instant.now());
+        DirectorCountSnapshot partial = DirectorCountSnapshot.of(Map.of("Director A", 1L), 1, 3, Instant.now());
+        when(loader.loadSnapshot()).thenReturn(Mono.just(complete), Mono.just(partial));
+
+        DirectorSnapshotCache cache = new DirectorSnapshotCache(loader, 0, new SimpleMeterRegistry());
+
+        StepVerifier.create(cache.get()).expectNext(complete).verifyComplete();
+        StepVerifier.create(cache.get()).expectNext(partial).verifyComplete();
+    }
+
+    @Test
+    void bootstrap_replacesAnOlderSeedButNeverALoadedSnapshot() {
+        DirectorCountSnapshot seeded = DirectorCountSnapshot.of(Map.of("Director A", 1L), Instant.now().minusSeconds(600));
+        DirectorCountSnapshot fromPeer = snapshot(Map.of("Director B", 2L));
+        DirectorCountSnapshot loaded = snapshot(Map.of("Director C", 3L));
+        when(loader.loadSnapshot()).thenReturn(Mono.just(loaded));
+
+        DirectorSnapshotCache cache = new DirectorSnapshotCache(loader, 300, new SimpleMeterRegistry());
+        assertTrue(cache.seed(seeded));
+
+        assertTrue(cache.bootstrap(fromPeer));
+        assertFalse(cache.isSeed(fromPeer));
+        StepVerifier.create(cache.get()).expectNext(fromPeer).verifyComplete();
+        verify(loader, never()).loadSnapshot();
+
+        cache.refresh().block();
+        assertFalse(cache.bootstrap(snapshot(Map.of("Director D", 4L))));
+        assertSame(loaded, cache.peek().orElseThrow());
+    }
+
+    private DirectorCountSnapshot snapshot(Map<String, Long> counts) {
+        return DirectorCountSnapshot.of(counts, Instant.now());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.movie_directors_service.unit.cache;
+
+import com.example.movie_directors_service.cache.DirectorSnapshotCodec;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DirectorSnapshotCodecTest {
+
+    private final DirectorCountSnapshot snapshot = DirectorCountSnapshot.of(Map.of(
+            "Christopher Nolan", 12L,
+            "Christopher Guest", 4L,
+            "Chris Columbus", 1L,
+            "Pedro Almodóvar", 22L,
+            "是枝裕和", 300L,
+            "Prolific Director", 5_000_000_000L), 41, 42, Instant.ofEpochMilli(1_760_000_000_123L));
+
+    @Test
+    void decode_restoresEncodedSnapshot() {
+        DirectorCountSnapshot decoded = DirectorSnapshotCodec.decode(ByteBuffer.wrap(DirectorSnapshotCodec.encode(snapshot)));
+
+        assertEquals(snapshot.getDirectorCounts(), decoded.getDirectorCounts());
+        assertEquals(snapshot.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(41, decoded.getCoverage().pagesFetched());
+        assertEquals(42, decoded.getCoverage().totalPages());
+    }
+
+    @Test
+    void decode_restoresEmptySnapshot() {
+        DirectorCountSnapshot empty = DirectorCountSnapshot.of(Map.of(), Instant.ofEpochMilli(0));
+
+        DirectorCountSnapshot decoded = DirectorSnapshotCodec.decode(ByteBuffer.wrap(DirectorSnapshotCodec.encode(empty)));
+
+        assertEquals(Map.of(), decoded.getDirectorCounts());
+    }
+
+    @Test
+    void decode_rejectsCorruptedBytes() {
+        byte[] encoded = DirectorSnapshotCodec.encode(snapshot);
+        encoded[encoded.length / 2] ^= 0x01;
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> DirectorSnapshotCodec.decode(ByteBuffer.wrap(encoded)));
+        assertEquals("Director snapshot checksum mismatch", error.getMessage());
+    }
+
+    @Test
+    void decode_rejectsAnEntryCountLargerThanTheBodyBeforeAllocating() {
+        byte[] encoded = withChecksum(header(Integer.MAX_VALUE));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> DirectorSnapshotCodec.decode(ByteBuffer.wrap(encoded)));
+        assertEquals("Director snapshot declares 2147483647 entries in 0 bytes", error.getMessage());
+    }
+
+    @Test
+    void decode_rejectsANameSuffixLongerThanTheBody() {
+        // One entry sharing nothing with a suffix of 2^28 bytes, followed by no name bytes at all.
+        byte[] encoded = withChecksum(header(1).put(new byte[] {0, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01}));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> DirectorSnapshotCodec.decode(ByteBuffer.wrap(encoded)));
+        assertEquals("Director snapshot entry 0 is corrupt", error.getMessage());
+    }
+
+    @Test
+    void decode_rejectsTruncatedBytes() {
+        byte[] encoded = DirectorSnapshotCodec.encode(snapshot);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> DirectorSnapshotCodec.decode(ByteBuffer.wrap(Arrays.copyOf(encoded, 10))));
+        assertThrows(IllegalArgumentException.class,
+                () -> DirectorSnapshotCodec.decode(ByteBuffer.wrap(Arrays.copyOf(encoded, encoded.length - 7))));
+    }
+
+    private static ByteBuffer header(int entries) {
+        return ByteBuffer.allocate(64)
+                .putInt(DirectorSnapshotCodec.MAGIC)
+                .putShort(DirectorSnapshotCodec.FORMAT_VERSION)
+                .putShort((short) 0)
+                .putLong(1_760_000_000_123L)
+                .putInt(1)
+                .putInt(1)
+                .putInt(entries);
+    }
+
+    private static byte[] withChecksum(ByteBuffer body) {
+        body.flip();
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return ByteBuffer.allocate(body.remaining() + 4).put(body).putInt((int) crc.getValue()).array();
+    }
+}
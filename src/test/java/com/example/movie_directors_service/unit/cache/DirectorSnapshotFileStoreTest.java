@@ -0,0 +1,111 @@
+package com.example.movie_directors_service.unit.cache;
+
+import com.example.movie_directors_service.cache.DirectorSnapshotCache;
+import com.example.movie_directors_service.cache.DirectorSnapshotFileStore;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import com.example.movie_directors_service.service.DirectorCountLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DirectorSnapshotFileStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private DirectorCountLoader loader;
+
+    @Test
+    void start_seedsCacheFromPreviouslyWrittenSnapshot() {
+        Path file = directory.resolve("snapshot.bin");
+        DirectorCountSnapshot previousRun = DirectorCountSnapshot.of(Map.of("Director A", 4L), Instant.now());
+        store(cache(), file).write(previousRun);
+
+        DirectorSnapshotCache cache = cache();
+        DirectorSnapshotFileStore store = store(cache, file);
+        store.start();
+
+        StepVerifier.create(cache.get())
+                .assertNext(snapshot -> assertEquals(Map.of("Director A", 4L), snapshot.getDirectorCounts()))
+                .verifyComplete();
+        verify(loader, never()).loadSnapshot();
+        store.stop();
+    }
+
+    @Test
+    void start_ignoresSnapshotOlderThanMaxAge() {
+        Path file = directory.resolve("snapshot.bin");
+        store(cache(), file).write(DirectorCountSnapshot.of(Map.of("Director A", 4L), Instant.now().minus(Duration.ofDays(2))));
+
+        DirectorSnapshotCache cache = cache();
+        DirectorSnapshotFileStore store = store(cache, file);
+        store.start();
+
+        assertTrue(cache.seed(DirectorCountSnapshot.of(Map.of(), Instant.now())), "stale file must not have been seeded");
+        store.stop();
+    }
+
+    @Test
+    void start_persistsEverySnapshotLoadedFromUpstream() {
+        Path file = directory.resolve("nested").resolve("snapshot.bin");
+        DirectorCountSnapshot loaded = DirectorCountSnapshot.of(Map.of("Director B", 7L), Instant.now());
+        when(loader.loadSnapshot()).thenReturn(Mono.just(loaded));
+
+        DirectorSnapshotCache cache = cache();
+        DirectorSnapshotFileStore store = store(cache, file);
+        store.start();
+        cache.refresh().block();
+
+        Optional<DirectorCountSnapshot> persisted = Optional.empty();
+        for (int attempt = 0; attempt < 100 && persisted.isEmpty(); attempt++) {
+            persisted = Files.exists(file) ? store.read() : Optional.empty();
+            sleep();
+        }
+        assertEquals(Map.of("Director B", 7L), persisted.orElseThrow().getDirectorCounts());
+        store.stop();
+    }
+
+    @Test
+    void read_ignoresCorruptFile() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24});
+
+        assertEquals(Optional.empty(), store(cache(), file).read());
+    }
+
+    private DirectorSnapshotCache cache() {
+        return new DirectorSnapshotCache(loader, 300, new SimpleMeterRegistry());
+    }
+
+    private DirectorSnapshotFileStore store(DirectorSnapshotCache cache, Path file) {
+        return new DirectorSnapshotFileStore(cache, file.toString(), 86_400);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.movie_directors_service.unit.cache;
+
+import com.example.movie_directors_service.cache.DirectorSnapshotCache;
+import com.example.movie_directors_service.cache.DirectorSnapshotCodec;
+import com.example.movie_directors_service.cache.DirectorSnapshotPeerBootstrap;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import com.example.movie_directors_service.service.DirectorCountLoader;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DirectorSnapshotPeerBootstrapTest {
+
+    @Mock
+    private DirectorCountLoader loader;
+
+    private HttpServer peers;
+
+    @BeforeEach
+    void startPeers() throws IOException {
+        peers = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        peers.createContext("/cold", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        serve("/stale", DirectorSnapshotCodec.encode(
+                DirectorCountSnapshot.of(Map.of("Director Stale", 1L), Instant.now().minus(Duration.ofHours(1)))));
+        serve("/partial", DirectorSnapshotCodec.encode(
+                DirectorCountSnapshot.of(Map.of("Director Partial", 1L), 1, 2, Instant.now())));
+        serve("/fresh", DirectorSnapshotCodec.encode(
+                DirectorCountSnapshot.of(Map.of("Director Fresh", 3L), 2, 2, Instant.now())));
+        serve("/garbage", "not a snapshot".getBytes(StandardCharsets.UTF_8));
+        peers.start();
+    }
+
+    @AfterEach
+    void stopPeers() {
+        peers.stop(0);
+    }
+
+    @Test
+    void start_bootstrapsFromTheFirstPeerWithAFreshCompleteSnapshot() {
+        DirectorSnapshotCache cache = cache();
+
+        bootstrap(cache, "/cold", "/stale", "/partial", "/garbage", "/fresh").start();
+
+        StepVerifier.create(cache.get())
+                .assertNext(snapshot -> assertEquals(Map.of("Director Fresh", 3L), snapshot.getDirectorCounts()))
+                .verifyComplete();
+        verify(loader, never()).loadSnapshot();
+    }
+
+    @Test
+    void start_leavesTheCacheColdWhenNoPeerIsUsable() {
+        DirectorSnapshotCache cache = cache();
+
+        bootstrap(cache, "/cold", "/stale").start();
+        new DirectorSnapshotPeerBootstrap(cache, List.of("http://127.0.0.1:1/api/api/directors/snapshot"), 240, 1000,
+                1 << 20).start();
+
+        assertTrue(cache.peek().isEmpty());
+    }
+
+    private DirectorSnapshotPeerBootstrap bootstrap(DirectorSnapshotCache cache, String... paths) {
+        return bootstrap(cache, 1 << 20, paths);
+    }
+
+    private DirectorSnapshotPeerBootstrap bootstrap(DirectorSnapshotCache cache, int maxBytes, String... paths) {
+        String base = "http://127.0.0.1:" + peers.getAddress().getPort();
+        return new DirectorSnapshotPeerBootstrap(cache, List.of(paths).stream().map(path -> base + path).toList(), 240, 1000,
+                maxBytes);
+    }
+
+    @Test
+    void start_ignoresASnapshotLargerThanTheConfiguredMaximum() {
+        DirectorSnapshotCache cache = cache();
+
+        bootstrap(cache, 16, "/fresh").start();
+
+        assertTrue(cache.peek().isEmpty());
+    }
+
+    private void serve(String path, byte[] body) {
+        peers.createContext(path, exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", DirectorSnapshotCodec.MEDIA_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+    }
+
+    private DirectorSnapshotCache cache() {
+        return new DirectorSnapshotCache(loader, 300, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.movie_directors_service.unit.cache;
+
+import com.example.movie_directors_service.cache.DirectorsResponseCache;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DirectorsResponseCacheTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void get_sharesOneBodyBetweenThresholdsWithTheSameAnswer() {
+        DirectorsResponseCache cache = new DirectorsResponseCache(new ObjectMapper(), 1 << 20, meterRegistry);
+        DirectorCountSnapshot snapshot = snapshot(Map.of("Woody Allen", 6L, "Greta Gerwig", 1L), NOW);
+
+        byte[] aboveTwo = cache.get(snapshot, 2);
+
+        assertEquals("{\"directors\":[\"Woody Allen\"]}", new String(aboveTwo, StandardCharsets.UTF_8));
+        assertSame(aboveTwo, cache.get(snapshot, 5));
+        assertEquals("{\"directors\":[\"Greta Gerwig\",\"Woody Allen\"]}", new String(cache.get(snapshot, 0), StandardCharsets.UTF_8));
+        assertEquals(2, cache.size());
+        assertEquals(1.0, meterRegistry.get("movies.cache.response.requests").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("movies.cache.response.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void get_dropsEveryBodyWhenANewerSnapshotIsQueried() {
+        DirectorsResponseCache cache = new DirectorsResponseCache(new ObjectMapper(), 1 << 20, meterRegistry);
+        DirectorCountSnapshot first = snapshot(Map.of("Director A", 2L), NOW);
+        DirectorCountSnapshot second = snapshot(Map.of("Director B", 2L), NOW.plusSeconds(300));
+
+        cache.get(first, 0);
+        cache.get(first, 5);
+        byte[] fromSecond = cache.get(second, 0);
+
+        assertEquals("{\"directors\":[\"Director B\"]}", new String(fromSecond, StandardCharsets.UTF_8));
+        assertEquals(1, cache.size());
+        assertEquals(fromSecond.length, cache.getBytes());
+
+        // A caller still holding the older snapshot is answered correctly but does not evict the newer bodies.
+        assertEquals("{\"directors\":[\"Director A\"]}", new String(cache.get(first, 0), StandardCharsets.UTF_8));
+        assertSame(fromSecond, cache.get(second, 0));
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedBodiesBeyondTheByteLimit() {
+        DirectorCountSnapshot snapshot = snapshot(Map.of("Director A", 1L, "Director B", 2L, "Director C", 3L), NOW);
+        byte[] aboveZero = new DirectorsResponseCache(new ObjectMapper(), 1 << 20, new SimpleMeterRegistry()).get(snapshot, 0);
+        // Room for the full list and the next longest body, but not for all three.
+        DirectorsResponseCache cache = new DirectorsResponseCache(new ObjectMapper(), aboveZero.length + 45, meterRegistry);
+
+        byte[] aboveOne = cache.get(snapshot, 1);
+        cache.get(snapshot, 2);
+        cache.get(snapshot, 1);
+        cache.get(snapshot, 0);
+
+        assertEquals(2, cache.size());
+        assertSame(aboveOne, cache.get(snapshot, 1));
+        assertEquals(aboveZero.length + aboveOne.length, cache.getBytes());
+        assertEquals(meterRegistry.get("movies.cache.response.bytes").gauge().value(), (double) cache.getBytes());
+    }
+
+    @Test
+    void get_servesButDoesNotKeepBodiesLargerThanTheLimit() {
+        DirectorsResponseCache cache = new DirectorsResponseCache(new ObjectMapper(), 8, meterRegistry);
+        DirectorCountSnapshot snapshot = snapshot(Map.of("Director A", 1L), NOW);
+
+        byte[] first = cache.get(snapshot, 0);
+
+        assertNotSame(first, cache.get(snapshot, 0));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+    }
+
+    private static DirectorCountSnapshot snapshot(Map<String, Long> counts, Instant createdAt) {
+        return DirectorCountSnapshot.of(counts, createdAt);
+    }
+}
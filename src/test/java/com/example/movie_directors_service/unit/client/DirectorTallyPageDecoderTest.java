@@ -0,0 +1,100 @@
+package com.example.movie_directors_service.unit.client;
+
+import com.example.movie_directors_service.client.DirectorTallyPageDecoder;
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.dto.response.MoviesPageResponse;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectorTallyPageDecoderTest {
+
+    private static final ResolvableType PAGE_TYPE = ResolvableType.forClass(DirectorTallyPage.class);
+
+    private final DirectorDictionary dictionary = new DirectorDictionary(16);
+    private final DirectorTallyPageDecoder decoder = new DirectorTallyPageDecoder(new JsonFactory(), dictionary);
+
+    @Test
+    void decode_readsPaginationAndTalliesDirectorsOnly() {
+        String json = """
+                {
+                  "page": 2,
+                  "per_page": 10,
+                  "total": 26,
+                  "total_pages": 3,
+                  "data": [
+                    {"Title": "Midnight in Paris", "Year": 2011, "Director": "Woody Allen", "Actors": "Owen Wilson"},
+                    {"Title": "Hugo", "Director": "Martin Scorsese", "Ratings": [{"Source": "IMDb", "Value": "7.5"}]},
+                    {"Director": "Woody Allen", "Extra": {"Director": "Not A Director"}},
+                    {"Title": "No director"},
+                    {"Title": "Null director", "Director": null},
+                    {"Title": "Blank director", "Director": "   "}
+                  ],
+                  "links": {"next": "/api/movies/search?page=3"}
+                }
+                """;
+
+        DirectorTallyPage page = decoder.decode(buffer(json), PAGE_TYPE, MediaType.APPLICATION_JSON, Map.of());
+
+        assertEquals(2, page.getPage());
+        assertEquals(26, page.getTotal());
+        assertEquals(3, page.getTotalPages());
+        assertEquals(Map.of("Woody Allen", 2, "Martin Scorsese", 1), page.getDirectorCounts());
+    }
+
+    @Test
+    void decode_toleratesMissingOrNullData() {
+        DirectorTallyPage page = decoder.decode(
+                buffer("{\"page\": 1, \"total_pages\": 1, \"data\": null}"), PAGE_TYPE, MediaType.APPLICATION_JSON, Map.of());
+
+        assertEquals(1, page.getTotalPages());
+        assertTrue(page.getDirectorCounts().isEmpty());
+    }
+
+    @Test
+    void decode_joinsBodySplitAcrossBuffers() {
+        String json = "{\"total_pages\": 4, \"data\": [{\"Director\": \"Sofia Coppola\"}]}";
+        int split = json.indexOf("Coppola");
+
+        StepVerifier.create(decoder.decodeToMono(
+                        Flux.just(buffer(json.substring(0, split)), buffer(json.substring(split))),
+                        PAGE_TYPE, MediaType.APPLICATION_JSON, Map.of()))
+                .assertNext(page -> {
+                    assertEquals(4, page.getTotalPages());
+                    assertEquals(Map.of("Sofia Coppola", 1), page.getDirectorCounts());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void decode_rejectsNonObjectBody() {
+        assertThrows(DecodingException.class, () ->
+                decoder.decode(buffer("[1, 2, 3]"), PAGE_TYPE, MediaType.APPLICATION_JSON, Map.of()));
+    }
+
+    @Test
+    void canDecode_onlyClaimsDirectorTallyPagesAsJson() {
+        assertTrue(decoder.canDecode(PAGE_TYPE, MediaType.APPLICATION_JSON));
+        assertFalse(decoder.canDecode(PAGE_TYPE, MediaType.TEXT_PLAIN));
+        assertFalse(decoder.canDecode(ResolvableType.forClass(MoviesPageResponse.class), MediaType.APPLICATION_JSON));
+    }
+
+    private DataBuffer buffer(String json) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.movie_directors_service.unit.client;
+
+import com.example.movie_directors_service.client.MoviesApiClient;
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.limiter.RequestHedger;
+import com.example.movie_directors_service.limiter.UpstreamRateLimiter;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MoviesApiClientConditionalRequestTest {
+
+    private static final String LAST_MODIFIED = "Wed, 01 Oct 2025 10:00:00 GMT";
+
+    private final List<HttpServerRequest> requests = new CopyOnWriteArrayList<>();
+    private final AtomicReference<String> currentETag = new AtomicReference<>("\"v1\"");
+    private final AtomicReference<String> currentDirector = new AtomicReference<>("Christopher Nolan");
+    private final DirectorDictionary dictionary = new DirectorDictionary(16);
+    private DisposableServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void fetchDirectorTallyPage_reusesCachedTallyWhenETagIsNotModified() {
+        MoviesApiClient client = clientFor(startStub(true));
+
+        DirectorTallyPage first = client.fetchDirectorTallyPage(1).block();
+        DirectorTallyPage second = client.fetchDirectorTallyPage(1).block();
+
+        assertEquals(2, requests.size());
+        assertNull(requests.get(0).requestHeaders().get(HttpHeaderNames.IF_NONE_MATCH));
+        assertEquals("\"v1\"", requests.get(1).requestHeaders().get(HttpHeaderNames.IF_NONE_MATCH));
+        assertSame(first, second);
+        assertEquals(Map.of("Christopher Nolan", 1), second.getDirectorCounts());
+    }
+
+    @Test
+    void fetchDirectorTallyPage_replacesCachedTallyWhenPageChanged() {
+        MoviesApiClient client = clientFor(startStub(true));
+
+        client.fetchDirectorTallyPage(1).block();
+        currentETag.set("\"v2\"");
+        currentDirector.set("Greta Gerwig");
+        DirectorTallyPage changed = client.fetchDirectorTallyPage(1).block();
+        DirectorTallyPage revalidated = client.fetchDirectorTallyPage(1).block();
+
+        assertEquals(Map.of("Greta Gerwig", 1), changed.getDirectorCounts());
+        assertEquals("\"v2\"", requests.get(2).requestHeaders().get(HttpHeaderNames.IF_NONE_MATCH));
+        assertSame(changed, revalidated);
+    }
+
+    @Test
+    void fetchDirectorTallyPage_fallsBackToLastModifiedWithoutETag() {
+        MoviesApiClient client = clientFor(startStub(false));
+
+        DirectorTallyPage first = client.fetchDirectorTallyPage(2).block();
+        DirectorTallyPage second = client.fetchDirectorTallyPage(2).block();
+
+        assertEquals(LAST_MODIFIED, requests.get(1).requestHeaders().get(HttpHeaderNames.IF_MODIFIED_SINCE));
+        assertSame(first, second);
+    }
+
+    private DisposableServer startStub(boolean withETag) {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/movies/search", (request, response) -> {
+                    requests.add(request);
+                    String eTag = currentETag.get();
+                    boolean notModified = withETag
+                            ? eTag.equals(request.requestHeaders().get(HttpHeaderNames.IF_NONE_MATCH))
+                            : LAST_MODIFIED.equals(request.requestHeaders().get(HttpHeaderNames.IF_MODIFIED_SINCE));
+                    if (withETag) {
+                        response.header(HttpHeaderNames.ETAG, eTag);
+                    } else {
+                        response.header(HttpHeaderNames.LAST_MODIFIED, LAST_MODIFIED);
+                    }
+                    if (notModified) {
+                        return response.status(HttpResponseStatus.NOT_MODIFIED).send();
+                    }
+                    return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                            .sendString(Mono.just("""
+                                    {"page":1,"per_page":10,"total":1,"total_pages":1,
+                                     "data":[{"Title":"A movie","Director":"%s"}]}
+                                    """.formatted(currentDirector.get())));
+                }))
+                .bindNow();
+        return server;
+    }
+
+    private MoviesApiClient clientFor(DisposableServer stub) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new MoviesApiClient(WebClient.builder(), "http://localhost:" + stub.port(), 5, 0, 0, 100, dictionary, meterRegistry,
+                new RequestHedger(false, 0.95, 50, 0.05, meterRegistry),
+                new UpstreamRateLimiter(false, 100, 20, 5000, 1000, meterRegistry));
+    }
+}
@@ -1,19 +1,26 @@
 package com.example.movie_directors_service.unit.client;
 
+import com.example.movie_directors_service.client.DirectorTallyPageDecoder;
 import com.example.movie_directors_service.client.MoviesApiClient;
 import com.example.movie_directors_service.dto.response.MoviesPageResponse;
 import com.example.movie_directors_service.exception.ExternalApiException;
+import com.example.movie_directors_service.exception.UpstreamStatusException;
+import com.example.movie_directors_service.limiter.RequestHedger;
+import com.example.movie_directors_service.limiter.UpstreamRateLimiter;
+import com.example.movie_directors_service.model.DirectorDictionary;
 import com.example.movie_directors_service.model.Movie;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -29,18 +36,38 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 class MoviesApiClientTest {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DirectorDictionary dictionary = new DirectorDictionary(16);
 
     @Test
-    void fetchMoviesPage_timesOutAndWrapsInExternalApiException() {
+    void fetchDirectorTallyPage_recordsRetriesAndFetchLatency() {
+        AtomicInteger attempts = new AtomicInteger();
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.customCodecs().registerWithDefaultConfig(new DirectorTallyPageDecoder(new JsonFactory(), dictionary)))
+                .build();
+        ExchangeFunction exchangeFunction = request -> attempts.incrementAndGet() == 1
+                ? Mono.just(serverErrorResponse())
+                : Mono.just(ClientResponse.create(HttpStatus.OK, strategies)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(toJson(samplePage()))
+                        .build());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MoviesApiClient client = clientFor(exchangeFunction, 30, 2, meterRegistry);
+
+        StepVerifier.create(client.fetchDirectorTallyPage(1))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(1.0, meterRegistry.get("movies.api.page.retries").counter().count());
+        assertEquals(1, meterRegistry.get("movies.api.page.fetch").tag("outcome", "success").timer().count());
+        assertEquals(0, meterRegistry.get("movies.api.page.fetch").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void fetchDirectorTallyPage_timesOutAndWrapsInExternalApiException() {
         ExchangeFunction exchangeFunction = request -> Mono.never();
-        MoviesApiClient client = new MoviesApiClient(
-                WebClient.builder().exchangeFunction(exchangeFunction),
-                "http://localhost",
-                0,
-                0,
-                0);
+        MoviesApiClient client = clientFor(exchangeFunction, 0, 0, new SimpleMeterRegistry());
 
-        StepVerifier.create(client.fetchMoviesPage(7))
+        StepVerifier.create(client.fetchDirectorTallyPage(7))
                 .expectErrorSatisfies(error -> {
                     assertInstanceOf(ExternalApiException.class, error);
                     assertTrue(error.getMessage().contains("timeout or network error"));
@@ -49,7 +76,7 @@ class MoviesApiClientTest {
     }
 
     @Test
-    void fetchMoviesPage_retriesOnServerErrorsAndEventuallySucceeds() {
+    void fetchDirectorTallyPage_retriesOnServerErrorsAndEventuallySucceeds() {
         AtomicInteger attempts = new AtomicInteger();
 
         ExchangeFunction exchangeFunction = request -> {
@@ -60,22 +87,17 @@ class MoviesApiClientTest {
             return Mono.just(successResponse());
         };
 
-        MoviesApiClient client = new MoviesApiClient(
-                WebClient.builder().exchangeFunction(exchangeFunction),
-                "http://localhost",
-                30,
-                2,
-                0);
+        MoviesApiClient client = clientFor(exchangeFunction, 30, 2, new SimpleMeterRegistry());
 
-        StepVerifier.create(client.fetchMoviesPage(3))
-                .expectNextMatches(response -> response.getPage() == 1 && response.getData().size() == 1)
+        StepVerifier.create(client.fetchDirectorTallyPage(3))
+                .expectNextMatches(page -> page.getPage() == 1 && page.getDirectorCounts().equals(Map.of("Director Success", 1)))
                 .verifyComplete();
 
         assertEquals(3, attempts.get());
     }
 
     @Test
-    void fetchMoviesPage_mapsClientErrorsToExternalApiExceptionWithoutRetries() {
+    void fetchDirectorTallyPage_mapsClientErrorsToExternalApiExceptionWithoutRetries() {
         AtomicInteger attempts = new AtomicInteger();
 
         ExchangeFunction exchangeFunction = request -> {
@@ -83,14 +105,9 @@ class MoviesApiClientTest {
             return Mono.just(clientErrorResponse());
         };
 
-        MoviesApiClient client = new MoviesApiClient(
-                WebClient.builder().exchangeFunction(exchangeFunction),
-                "http://localhost",
-                30,
-                2,
-                0);
+        MoviesApiClient client = clientFor(exchangeFunction, 30, 2, new SimpleMeterRegistry());
 
-        StepVerifier.create(client.fetchMoviesPage(5))
+        StepVerifier.create(client.fetchDirectorTallyPage(5))
                 .expectErrorSatisfies(error -> {
                     assertInstanceOf(ExternalApiException.class, error);
                     assertTrue(error.getMessage().contains("Status: 404 NOT_FOUND"));
@@ -101,7 +118,7 @@ class MoviesApiClientTest {
     }
 
     @Test
-    void fetchMoviesPage_mapsPersistentServerErrorsToExternalApiExceptionAfterRetries() {
+    void fetchDirectorTallyPage_mapsPersistentServerErrorsToExternalApiExceptionAfterRetries() {
         AtomicInteger attempts = new AtomicInteger();
 
         ExchangeFunction exchangeFunction = request -> {
@@ -109,14 +126,9 @@ class MoviesApiClientTest {
             return Mono.just(serverErrorResponse());
         };
 
-        MoviesApiClient client = new MoviesApiClient(
-                WebClient.builder().exchangeFunction(exchangeFunction),
-                "http://localhost",
-                30,
-                2,
-                0);
+        MoviesApiClient client = clientFor(exchangeFunction, 30, 2, new SimpleMeterRegistry());
 
-        StepVerifier.create(client.fetchMoviesPage(9))
+        StepVerifier.create(client.fetchDirectorTallyPage(9))
                 .expectErrorSatisfies(error -> {
                     ExternalApiException external = assertInstanceOf(ExternalApiException.class, error);
                     assertTrue(external.getMessage().contains("timeout or network error"));
@@ -124,26 +136,79 @@ class MoviesApiClientTest {
                     assertTrue(cause instanceof RuntimeException);
                     assertTrue(cause.getClass().getSimpleName().contains("RetryExhaustedException"));
                     Throwable exhaustedCause = cause.getCause();
-                    assertInstanceOf(WebClientResponseException.class, exhaustedCause);
+                    assertInstanceOf(UpstreamStatusException.class, exhaustedCause);
                 })
                 .verify(Duration.ofSeconds(1));
 
         assertEquals(3, attempts.get());
     }
 
+    @Test
+    void fetchDirectorTallyPage_decodesDirectorsWithoutBindingMovies() {
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.customCodecs().register(new DirectorTallyPageDecoder(new JsonFactory(), dictionary)))
+                .build();
+        ExchangeFunction exchangeFunction = request -> Mono.just(ClientResponse.create(HttpStatus.OK, strategies)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(toJson(samplePage()))
+                .build());
+
+        MoviesApiClient client = clientFor(exchangeFunction, 30, 0, new SimpleMeterRegistry());
+
+        StepVerifier.create(client.fetchDirectorTallyPage(1))
+                .assertNext(page -> {
+                    assertEquals(1, page.getTotalPages());
+                    assertEquals(Map.of("Director Success", 1), page.getDirectorCounts());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void fetchDirectorTallyPage_failsWhenOkResponseHasNoBody() {
+        ExchangeFunction exchangeFunction = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        MoviesApiClient client = clientFor(exchangeFunction, 30, 0, new SimpleMeterRegistry());
+
+        StepVerifier.create(client.fetchDirectorTallyPage(4))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(ExternalApiException.class, error);
+                    assertEquals("Page 4 answered without a body", error.getMessage());
+                })
+                .verify(Duration.ofSeconds(1));
+    }
+
+    private MoviesApiClient clientFor(ExchangeFunction exchangeFunction, long timeoutSeconds, int maxRetries,
+                                      SimpleMeterRegistry meterRegistry) {
+        return new MoviesApiClient(
+                WebClient.builder().exchangeFunction(exchangeFunction),
+                "http://localhost",
+                timeoutSeconds,
+                maxRetries,
+                0,
+                100,
+                dictionary,
+                meterRegistry,
+                new RequestHedger(false, 0.95, 50, 0.05, meterRegistry),
+                new UpstreamRateLimiter(false, 100, 20, 5000, 1000, meterRegistry));
+    }
+
     private ClientResponse successResponse() {
-        MoviesPageResponse payload = MoviesPageResponse.builder()
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.customCodecs().register(new DirectorTallyPageDecoder(new JsonFactory(), dictionary)))
+                .build();
+        return ClientResponse.create(HttpStatus.OK, strategies)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(toJson(samplePage()))
+                .build();
+    }
+
+    private MoviesPageResponse samplePage() {
+        return MoviesPageResponse.builder()
                 .page(1)
                 .perPage(1)
                 .total(1)
                 .totalPages(1)
                 .data(List.of(sampleMovie("Director Success")))
                 .build();
-
-        return ClientResponse.create(HttpStatus.OK)
-                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .body(toJson(payload))
-                .build();
     }
 
     private ClientResponse serverErrorResponse() {
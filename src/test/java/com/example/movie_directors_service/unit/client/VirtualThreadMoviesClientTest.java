@@ -0,0 +1,114 @@
+package com.example.movie_directors_service.unit.client;
+
+import com.example.movie_directors_service.client.VirtualThreadMoviesClient;
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.exception.ExternalApiException;
+import com.example.movie_directors_service.exception.UpstreamStatusException;
+import com.example.movie_directors_service.limiter.RequestHedger;
+import com.example.movie_directors_service.limiter.UpstreamRateLimiter;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadMoviesClientTest {
+
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+    private final AtomicInteger failureStatus = new AtomicInteger(503);
+    private final DirectorDictionary dictionary = new DirectorDictionary(16);
+    private DisposableServer server;
+    private VirtualThreadMoviesClient client;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/movies/search", (request, response) -> {
+                    ifNoneMatch.add(String.valueOf(request.requestHeaders().get(HttpHeaderNames.IF_NONE_MATCH)));
+                    if (failuresBeforeSuccess.getAndDecrement() > 0) {
+                        return response.status(failureStatus.get()).send();
+                    }
+                    response.header(HttpHeaderNames.ETAG, "\"v1\"");
+                    if ("\"v1\"".equals(request.requestHeaders().get(HttpHeaderNames.IF_NONE_MATCH))) {
+                        return response.status(HttpResponseStatus.NOT_MODIFIED).send();
+                    }
+                    return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                            .sendString(Mono.just("""
+                                    {"page":1,"per_page":10,"total":2,"total_pages":1,
+                                     "data":[{"Title":"A movie","Director":"Christopher Nolan"},
+                                             {"Title":"Another","Director":"Christopher Nolan"}]}
+                                    """));
+                }))
+                .bindNow();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        client = new VirtualThreadMoviesClient("http://localhost:" + server.port(), 5, 2, 0, 100, 1000, false,
+                dictionary, meterRegistry, new RequestHedger(false, 0.95, 50, 0.05, meterRegistry),
+                new UpstreamRateLimiter(false, 100, 20, 5000, 1000, meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.disposeNow();
+    }
+
+    @Test
+    void fetchDirectorTallyPage_decodesPageOnVirtualThread() {
+        StepVerifier.create(client.fetchDirectorTallyPage(1)
+                        .map(page -> Map.entry(page.getDirectorCounts(), Thread.currentThread().isVirtual())))
+                .expectNext(Map.entry(Map.of("Christopher Nolan", 2), true))
+                .verifyComplete();
+    }
+
+    @Test
+    void fetchDirectorTallyPage_reusesCachedTallyWhenETagIsNotModified() {
+        DirectorTallyPage first = client.fetchDirectorTallyPage(1).block();
+        DirectorTallyPage second = client.fetchDirectorTallyPage(1).block();
+
+        assertEquals(List.of("null", "\"v1\""), ifNoneMatch);
+        assertSame(first, second);
+    }
+
+    @Test
+    void fetchDirectorTallyPage_retriesServerErrors() {
+        failuresBeforeSuccess.set(2);
+
+        DirectorTallyPage page = client.fetchDirectorTallyPage(1).block();
+
+        assertEquals(3, ifNoneMatch.size());
+        assertEquals(Map.of("Christopher Nolan", 2), page.getDirectorCounts());
+    }
+
+    @Test
+    void fetchDirectorTallyPage_mapsClientErrorsWithoutRetrying() {
+        failuresBeforeSuccess.set(1);
+        failureStatus.set(404);
+
+        StepVerifier.create(client.fetchDirectorTallyPage(1))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(ExternalApiException.class, error);
+                    assertTrue(error.getMessage().contains("404"));
+                    assertEquals(404, assertInstanceOf(UpstreamStatusException.class, error.getCause()).getStatusCode().value());
+                })
+                .verify();
+        assertEquals(1, ifNoneMatch.size());
+    }
+}
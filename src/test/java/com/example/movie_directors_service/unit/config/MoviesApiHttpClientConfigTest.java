@@ -0,0 +1,68 @@
+package com.example.movie_directors_service.unit.config;
+
+import com.example.movie_directors_service.config.MoviesApiHttpClientConfig;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class MoviesApiHttpClientConfigTest {
+
+    private final MoviesApiHttpClientConfig config = new MoviesApiHttpClientConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConnectionProvider connectionProvider;
+    private DisposableServer server;
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(meterRegistry);
+        connectionProvider = config.moviesApiConnectionProvider(12, 100, 5, 30, 300, 60);
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/ping", (request, response) -> response.sendString(Mono.just("pong"))))
+                .bindNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+        connectionProvider.dispose();
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    void moviesApiConnectionProvider_appliesConfiguredPoolSize() {
+        assertEquals(12, connectionProvider.maxConnections());
+    }
+
+    @Test
+    void moviesApiHttpClient_publishesPoolMetricsOnceConnectionsAreOpened() {
+        HttpClient httpClient = config.moviesApiHttpClient(connectionProvider, 1000, true, false);
+
+        String body = httpClient.get()
+                .uri("http://localhost:" + server.port() + "/ping")
+                .responseContent()
+                .aggregate()
+                .asString()
+                .block();
+
+        assertEquals("pong", body);
+        // Other tests in the JVM may open "movies-api" pools of their own, so match this server's address too.
+        String remoteAddress = "localhost:" + server.port();
+        assertEquals(12.0, meterRegistry.get("reactor.netty.connection.provider.max.connections")
+                .tag("name", "movies-api").tag("remote.address", remoteAddress).gauge().value());
+        assertNotNull(meterRegistry.get("reactor.netty.connection.provider.idle.connections")
+                .tag("name", "movies-api").tag("remote.address", remoteAddress).gauge());
+        assertNotNull(meterRegistry.get("reactor.netty.connection.provider.pending.connections.time")
+                .tag("name", "movies-api").tag("remote.address", remoteAddress).timer());
+    }
+}
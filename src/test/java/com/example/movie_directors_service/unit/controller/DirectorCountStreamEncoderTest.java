@@ -0,0 +1,59 @@
+package com.example.movie_directors_service.unit.controller;
+
+import com.example.movie_directors_service.controller.DirectorCountStreamEncoder;
+import com.example.movie_directors_service.dto.response.DirectorCountResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectorCountStreamEncoderTest {
+
+    private final DirectorCountStreamEncoder encoder = new DirectorCountStreamEncoder(new ObjectMapper());
+
+    @Test
+    void encode_ndjsonGroupsDirectorsIntoChunksOfLines() {
+        Flux<DirectorCountResponse> directors = Flux.range(0, 600)
+                .map(i -> DirectorCountResponse.of("Director " + i, i));
+
+        List<String> chunks = encoder.encode(directors, MediaType.APPLICATION_NDJSON, DefaultDataBufferFactory.sharedInstance)
+                .map(DirectorCountStreamEncoderTest::text)
+                .collectList()
+                .block();
+
+        assertEquals(3, chunks.size());
+        String body = String.join("", chunks);
+        String[] lines = body.split("\n");
+        assertEquals(600, lines.length);
+        assertEquals("{\"director\":\"Director 0\",\"movies\":0}", lines[0]);
+        assertEquals("{\"director\":\"Director 599\",\"movies\":599}", lines[599]);
+        assertTrue(chunks.get(0).endsWith("\n"));
+    }
+
+    @Test
+    void encode_eventStreamWritesOneDataEventPerDirector() {
+        String body = encoder.encode(
+                        Flux.just(DirectorCountResponse.of("Director A", 3), DirectorCountResponse.of("Director B", 2)),
+                        MediaType.TEXT_EVENT_STREAM,
+                        DefaultDataBufferFactory.sharedInstance)
+                .map(DirectorCountStreamEncoderTest::text)
+                .collectList()
+                .map(chunks -> String.join("", chunks))
+                .block();
+
+        assertEquals("data:{\"director\":\"Director A\",\"movies\":3}\n\n"
+                + "data:{\"director\":\"Director B\",\"movies\":2}\n\n", body);
+    }
+
+    private static String text(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
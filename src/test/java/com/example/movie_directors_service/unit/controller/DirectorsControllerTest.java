@@ -1,25 +1,45 @@
 package com.example.movie_directors_service.unit.controller;
 
+import com.example.movie_directors_service.cache.DirectorSnapshotCodec;
+import com.example.movie_directors_service.controller.DirectorCountStreamEncoder;
 import com.example.movie_directors_service.controller.DirectorsController;
+import com.example.movie_directors_service.dto.response.DirectorCountResponse;
+import com.example.movie_directors_service.dto.response.DirectorsBatchResponse;
 import com.example.movie_directors_service.dto.response.DirectorsResponse;
+import com.example.movie_directors_service.dto.response.DirectorsStreamResponse;
+import com.example.movie_directors_service.dto.response.EncodedDirectorsResponse;
+import com.example.movie_directors_service.dto.response.TopDirectorsResponse;
+import com.example.movie_directors_service.exception.CircuitBreakerOpenException;
 import com.example.movie_directors_service.exception.GlobalExceptionHandler;
+import com.example.movie_directors_service.model.CatalogCoverage;
 import com.example.movie_directors_service.service.DirectorsService;
 import com.example.movie_directors_service.validation.ThresholdValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @WebFluxTest(controllers = DirectorsController.class)
-@Import({GlobalExceptionHandler.class, ThresholdValidator.class})
+@Import({GlobalExceptionHandler.class, ThresholdValidator.class, DirectorCountStreamEncoder.class})
 class DirectorsControllerTest {
 
     @Autowired
@@ -33,10 +53,46 @@ class DirectorsControllerTest {
         reset(directorsService);
     }
 
+    @Test
+    void givenDirectorsAnswer_whenRequestingDirectors_thenReturnsETagAndCacheControl() {
+        when(directorsService.getEncodedDirectorsAboveThreshold(3L))
+                .thenReturn(Mono.just(encoded(List.of("Director A"), 1, 1)));
+
+        webTestClient.get()
+                .uri("/api/directors?threshold=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"v1\"")
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=60, public")
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    void givenMatchingIfNoneMatch_whenRequestingDirectors_thenReturnsNotModifiedWithoutEncodingBody() {
+        AtomicInteger encodings = new AtomicInteger();
+        when(directorsService.getEncodedDirectorsAboveThreshold(3L))
+                .thenReturn(Mono.just(EncodedDirectorsResponse.of("W/\"v1\"", Duration.ofSeconds(60), () -> {
+                    encodings.incrementAndGet();
+                    return new byte[0];
+                }, new CatalogCoverage(1, 1))));
+
+        webTestClient.get()
+                .uri("/api/directors?threshold=3")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"v1\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"v1\"")
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=60, public")
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .expectBody().isEmpty();
+
+        assertEquals(0, encodings.get());
+    }
+
     @Test
     void givenPositiveThreshold_whenRequestingDirectors_thenReturnsDirectorsList() {
-        when(directorsService.getDirectorsAboveThreshold(3L))
-                .thenReturn(Mono.just(DirectorsResponse.of(List.of("Director A", "Director B"))));
+        when(directorsService.getEncodedDirectorsAboveThreshold(3L))
+                .thenReturn(Mono.just(encoded(List.of("Director A", "Director B"), 1, 1)));
 
         webTestClient.get()
                 .uri(uriBuilder -> uriBuilder.path("/api/directors")
@@ -44,11 +100,12 @@ class DirectorsControllerTest {
                         .build())
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
                 .expectBody()
                 .jsonPath("$.directors[0]").isEqualTo("Director A")
                 .jsonPath("$.directors[1]").isEqualTo("Director B");
 
-        verify(directorsService).getDirectorsAboveThreshold(3L);
+        verify(directorsService).getEncodedDirectorsAboveThreshold(3L);
     }
 
     @Test
@@ -68,8 +125,8 @@ class DirectorsControllerTest {
 
     @Test
     void givenZeroThreshold_whenRequestingDirectors_thenReturnsDirectorsList() {
-        when(directorsService.getDirectorsAboveThreshold(0L))
-                .thenReturn(Mono.just(DirectorsResponse.of(List.of("Director Zero"))));
+        when(directorsService.getEncodedDirectorsAboveThreshold(0L))
+                .thenReturn(Mono.just(encoded(List.of("Director Zero"), 1, 1)));
 
         webTestClient.get()
                 .uri(uriBuilder -> uriBuilder.path("/api/directors")
@@ -80,7 +137,7 @@ class DirectorsControllerTest {
                 .expectBody()
                 .jsonPath("$.directors[0]").isEqualTo("Director Zero");
 
-        verify(directorsService).getDirectorsAboveThreshold(0L);
+        verify(directorsService).getEncodedDirectorsAboveThreshold(0L);
     }
 
     @Test
@@ -97,4 +154,216 @@ class DirectorsControllerTest {
 
         verifyNoInteractions(directorsService);
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenPartialCatalog_whenRequestingDirectors_thenReportsCoverageHeaders() {
+        when(directorsService.getEncodedDirectorsAboveThreshold(1L))
+                .thenReturn(Mono.just(encoded(List.of("Director A"), 9, 10)));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/directors")
+                        .queryParam("threshold", "1")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Catalog-Pages-Fetched", "9")
+                .expectHeader().valueEquals("X-Catalog-Total-Pages", "10")
+                .expectHeader().valueEquals("X-Catalog-Complete", "false")
+                .expectBody()
+                .jsonPath("$.directors[0]").isEqualTo("Director A")
+                .jsonPath("$.pagesFetched").doesNotExist();
+    }
+
+    @Test
+    void givenUpstreamOutageWithoutSnapshot_whenRequestingDirectors_thenReturnsServiceUnavailable() {
+        when(directorsService.getEncodedDirectorsAboveThreshold(1L))
+                .thenReturn(Mono.error(new CircuitBreakerOpenException("Movies API circuit breaker is open")));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/directors")
+                        .queryParam("threshold", "1")
+                        .build())
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(503);
+    }
+
+    @Test
+    void givenNdjsonAccept_whenStreamingDirectors_thenWritesOneDirectorPerLine() {
+        when(directorsService.streamDirectorsAboveThreshold(1L))
+                .thenReturn(Mono.just(DirectorsStreamResponse.of(
+                        Flux.just(DirectorCountResponse.of("Director A", 4), DirectorCountResponse.of("Director B", 2)),
+                        new CatalogCoverage(9, 10))));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/directors/stream")
+                        .queryParam("threshold", "1")
+                        .build())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectHeader().valueEquals("X-Catalog-Complete", "false")
+                .expectBody(String.class)
+                .isEqualTo("{\"director\":\"Director A\",\"movies\":4}\n"
+                        + "{\"director\":\"Director B\",\"movies\":2}\n");
+    }
+
+    @Test
+    void givenEventStreamAccept_whenStreamingDirectors_thenWritesOneEventPerDirector() {
+        when(directorsService.streamDirectorsAboveThreshold(0L))
+                .thenReturn(Mono.just(DirectorsStreamResponse.of(
+                        Flux.just(DirectorCountResponse.of("Director A", 1)), new CatalogCoverage(1, 1))));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/directors/stream")
+                        .queryParam("threshold", "0")
+                        .build())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(DirectorCountResponse.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNext(DirectorCountResponse.of("Director A", 1))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenInvalidThreshold_whenStreamingDirectors_thenReturnsBadRequest() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/directors/stream")
+                        .queryParam("threshold", "-1")
+                        .build())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.message").isEqualTo("Threshold must be non-negative")
+                .jsonPath("$.path").isEqualTo("/api/directors/stream");
+
+        verifyNoInteractions(directorsService);
+    }
+
+    @Test
+    void givenNonNumericThreshold_whenStreamingEvents_thenReturnsJsonBadRequestWithPath() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/directors/stream")
+                        .queryParam("threshold", "invalid")
+                        .build())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Bad Request")
+                .jsonPath("$.path").isEqualTo("/api/directors/stream");
+
+        verifyNoInteractions(directorsService);
+    }
+
+    @Test
+    void givenThresholdList_whenRequestingBatch_thenReturnsDirectorsKeyedByThreshold() {
+        Map<Long, List<String>> directors = new LinkedHashMap<>();
+        directors.put(5L, List.of());
+        directors.put(1L, List.of("Director A", "Director B"));
+        when(directorsService.getDirectorsAboveThresholds(new long[] {5, 1}))
+                .thenReturn(Mono.just(DirectorsBatchResponse.of(directors, new CatalogCoverage(3, 3))));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/directors/batch")
+                        .queryParam("thresholds", "5,1")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Catalog-Complete", "true")
+                .expectBody()
+                .jsonPath("$.directors['5']").isEmpty()
+                .jsonPath("$.directors['1'][1]").isEqualTo("Director B")
+                .jsonPath("$.pagesFetched").doesNotExist();
+    }
+
+    @Test
+    void givenInvalidElementInThresholdList_whenRequestingBatch_thenReturnsBadRequest() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/directors/batch")
+                        .queryParam("thresholds", "1,x")
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.path").isEqualTo("/api/directors/batch")
+                .jsonPath("$.message").isEqualTo("Invalid value in parameter 'thresholds': 'x' must be a valid number");
+
+        verifyNoInteractions(directorsService);
+    }
+
+    @Test
+    void givenK_whenRequestingTopDirectors_thenReturnsDirectorsWithCounts() {
+        when(directorsService.getTopDirectors(2))
+                .thenReturn(Mono.just(TopDirectorsResponse.of(
+                        List.of(DirectorCountResponse.of("Woody Allen", 50), DirectorCountResponse.of("Martin Scorsese", 30)),
+                        new CatalogCoverage(1, 1))));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/directors/top")
+                        .queryParam("k", "2")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.directors[0].director").isEqualTo("Woody Allen")
+                .jsonPath("$.directors[0].movies").isEqualTo(50)
+                .jsonPath("$.directors[1].director").isEqualTo("Martin Scorsese");
+    }
+
+    @Test
+    void givenZeroK_whenRequestingTopDirectors_thenReturnsBadRequest() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/directors/top")
+                        .queryParam("k", "0")
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Parameter 'k' must be positive");
+
+        verifyNoInteractions(directorsService);
+    }
+
+    @Test
+    void givenLoadedSnapshot_whenExportingSnapshot_thenReturnsItsBinaryForm() {
+        byte[] snapshot = {0x4D, 0x44, 0x53, 0x53, 0, 2};
+        when(directorsService.exportSnapshot()).thenReturn(Mono.just(snapshot));
+
+        webTestClient.get()
+                .uri("/api/directors/snapshot")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(DirectorSnapshotCodec.MEDIA_TYPE)
+                .expectBody(byte[].class).isEqualTo(snapshot);
+    }
+
+    @Test
+    void givenNoSnapshotYet_whenExportingSnapshot_thenReturnsNotFound() {
+        when(directorsService.exportSnapshot()).thenReturn(Mono.empty());
+
+        webTestClient.get()
+                .uri("/api/directors/snapshot")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private static EncodedDirectorsResponse encoded(List<String> directors, int pagesFetched, int totalPages) {
+        try {
+            byte[] json = new ObjectMapper().writeValueAsBytes(DirectorsResponse.of(directors));
+            return EncodedDirectorsResponse.of("W/\"v1\"", Duration.ofSeconds(60), () -> json,
+                    new CatalogCoverage(pagesFetched, totalPages));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.movie_directors_service.unit.limiter;
+
+import com.example.movie_directors_service.exception.ExternalApiException;
+import com.example.movie_directors_service.exception.UpstreamStatusException;
+import com.example.movie_directors_service.limiter.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.core.JsonParseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void execute_queuesCallsBeyondTheLimitUntilAPermitIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 2);
+        AtomicInteger started = new AtomicInteger();
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+
+        limiter.execute(() -> first.asMono().doOnSubscribe(s -> started.incrementAndGet())).subscribe();
+        limiter.execute(() -> second.asMono().doOnSubscribe(s -> started.incrementAndGet())).subscribe();
+
+        StepVerifier.create(limiter.execute(() -> Mono.fromSupplier(() -> {
+                    started.incrementAndGet();
+                    return "third";
+                })))
+                .then(() -> {
+                    assertEquals(2, started.get());
+                    assertEquals(1, limiter.getWaiting());
+                    first.tryEmitValue("first");
+                })
+                .expectNext("third")
+                .verifyComplete();
+
+        assertEquals(3, started.get());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void execute_growsLimitWhileLatencyStaysFlat() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.5, 10.0, new SimpleMeterRegistry());
+
+        for (int call = 0; call < 30; call++) {
+            limiter.execute(() -> Mono.delay(Duration.ofMillis(2))).block();
+        }
+
+        assertTrue(limiter.getLimit() > 2, "limit should have grown but was " + limiter.getLimit());
+    }
+
+    @Test
+    void execute_cutsLimitOnTimeoutsAndServerErrors() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 8);
+
+        StepVerifier.create(limiter.execute(() -> Mono.error(
+                        new ExternalApiException("timeout", new TimeoutException()))))
+                .expectError(ExternalApiException.class)
+                .verify();
+        assertEquals(4, limiter.getLimit());
+
+        StepVerifier.create(limiter.execute(() -> Mono.error(
+                        new UpstreamStatusException(HttpStatus.BAD_GATEWAY, HttpHeaders.EMPTY))))
+                .expectError(UpstreamStatusException.class)
+                .verify();
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void execute_cutsLimitOnConnectionFailuresFromEitherEngine() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 8);
+
+        StepVerifier.create(limiter.execute(() -> Mono.error(new WebClientRequestException(
+                        new ConnectException("Connection refused"), HttpMethod.GET, URI.create("http://localhost"),
+                        HttpHeaders.EMPTY))))
+                .expectError(WebClientRequestException.class)
+                .verify();
+        assertEquals(4, limiter.getLimit());
+
+        StepVerifier.create(limiter.execute(() -> Mono.error(
+                        new ExternalApiException("network error", new IOException("Connection reset")))))
+                .expectError(ExternalApiException.class)
+                .verify();
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void execute_malformedBodiesDoNotChangeTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 8);
+
+        StepVerifier.create(limiter.execute(() -> Mono.error(new ExternalApiException("bad page",
+                        new DecodingException("Failed to decode movies page",
+                                new JsonParseException(null, "Unexpected end-of-input"))))))
+                .expectError(ExternalApiException.class)
+                .verify();
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void execute_clientErrorsDoNotChangeTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 8);
+
+        StepVerifier.create(limiter.execute(() -> Mono.error(
+                        new UpstreamStatusException(HttpStatus.NOT_FOUND, HttpHeaders.EMPTY))))
+                .expectError(UpstreamStatusException.class)
+                .verify();
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void execute_cancelledWaiterDoesNotLeakAPermit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1);
+        Sinks.One<String> holder = Sinks.one();
+
+        limiter.execute(holder::asMono).subscribe();
+        Disposable waiting = limiter.execute(() -> Mono.just("never started")).subscribe();
+        assertEquals(1, limiter.getWaiting());
+
+        waiting.dispose();
+        assertEquals(0, limiter.getWaiting());
+
+        holder.tryEmitValue("done");
+        assertEquals(0, limiter.getInFlight());
+
+        StepVerifier.create(limiter.execute(() -> Mono.just("next")))
+                .expectNext("next")
+                .verifyComplete();
+    }
+
+    @Test
+    void limitIsPublishedAsAGauge() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new AdaptiveConcurrencyLimiter(6, 1, 16, 0.5, 2.0, meterRegistry);
+
+        assertEquals(6.0, meterRegistry.get("movies.api.concurrency.limit").gauge().value());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 1, maxLimit, 0.5, 2.0, new SimpleMeterRegistry());
+    }
+}
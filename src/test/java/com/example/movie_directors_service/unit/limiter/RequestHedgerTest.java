@@ -0,0 +1,116 @@
+package com.example.movie_directors_service.unit.limiter;
+
+import com.example.movie_directors_service.limiter.RequestHedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestHedgerTest {
+
+    private static final Duration MIN_DELAY = Duration.ofMillis(50);
+
+    @Test
+    void hedge_doesNotHedgeBeforeEnoughLatenciesAreKnown() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestHedger hedger = new RequestHedger(true, 0.95, MIN_DELAY.toMillis(), 1.0, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> hedger.hedge(() -> Mono.delay(Duration.ofSeconds(1)).doOnSubscribe(s -> attempts.incrementAndGet())))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext(0L)
+                .verifyComplete();
+
+        assertNull(hedger.getHedgeDelay());
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, meterRegistry.get("movies.api.page.hedges").tag("outcome", "sent").counter().count());
+    }
+
+    @Test
+    void hedge_takesTheDuplicateWhenItAnswersFirst() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestHedger hedger = warmedUp(new RequestHedger(true, 0.95, MIN_DELAY.toMillis(), 1.0, meterRegistry));
+        Sinks.One<String> slowPrimary = Sinks.one();
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        List<Mono<String>> attempts = new ArrayList<>(List.of(
+                slowPrimary.asMono().doOnCancel(() -> primaryCancelled.set(true)),
+                Mono.just("hedge")));
+
+        StepVerifier.withVirtualTime(() -> hedger.hedge(() -> attempts.remove(0)))
+                .expectSubscription()
+                .expectNoEvent(MIN_DELAY.minusMillis(1))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertTrue(primaryCancelled.get());
+        assertEquals(1.0, meterRegistry.get("movies.api.page.hedges").tag("outcome", "sent").counter().count());
+        assertEquals(1.0, meterRegistry.get("movies.api.page.hedges").tag("outcome", "won").counter().count());
+    }
+
+    @Test
+    void hedge_keepsTheOriginalOutcomeWhenTheDuplicateFails() {
+        RequestHedger hedger = warmedUp(new RequestHedger(true, 0.95, MIN_DELAY.toMillis(), 1.0, new SimpleMeterRegistry()));
+        List<Mono<String>> attempts = new ArrayList<>(List.of(
+                Mono.delay(Duration.ofMillis(200)).thenReturn("primary"),
+                Mono.error(new IllegalStateException("hedge failed"))));
+
+        StepVerifier.withVirtualTime(() -> hedger.hedge(() -> attempts.remove(0)))
+                .thenAwait(Duration.ofMillis(200))
+                .expectNext("primary")
+                .verifyComplete();
+    }
+
+    @Test
+    void hedge_stopsHedgingOnceTheBudgetIsSpent() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // An eighth of a hedge per request: 2.5 after warming up, then enough for the 1st, 2nd and 4th slow request.
+        RequestHedger hedger = warmedUp(new RequestHedger(true, 0.95, MIN_DELAY.toMillis(), 0.125, meterRegistry));
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int request = 0; request < 5; request++) {
+            StepVerifier.withVirtualTime(() -> hedger.hedge(() -> Mono.delay(Duration.ofSeconds(1)).doOnSubscribe(s -> attempts.incrementAndGet())))
+                    .thenAwait(Duration.ofSeconds(1))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        assertEquals(8, attempts.get());
+        assertEquals(3.0, meterRegistry.get("movies.api.page.hedges").tag("outcome", "sent").counter().count());
+        assertEquals(2.0, meterRegistry.get("movies.api.page.hedges").tag("outcome", "throttled").counter().count());
+    }
+
+    @Test
+    void hedge_passesThroughWhenDisabled() {
+        RequestHedger hedger = new RequestHedger(false, 0.95, MIN_DELAY.toMillis(), 1.0, new SimpleMeterRegistry());
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> hedger.hedge(() -> Mono.delay(Duration.ofSeconds(5)).doOnSubscribe(s -> attempts.incrementAndGet())))
+                .thenAwait(Duration.ofSeconds(5))
+                .expectNext(0L)
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+    }
+
+    private static RequestHedger warmedUp(RequestHedger hedger) {
+        for (int request = 0; request < 20; request++) {
+            hedger.hedge(() -> Mono.just("fast")).block();
+        }
+        assertNotNull(hedger.getHedgeDelay());
+        assertEquals(MIN_DELAY, hedger.getHedgeDelay());
+        return hedger;
+    }
+}
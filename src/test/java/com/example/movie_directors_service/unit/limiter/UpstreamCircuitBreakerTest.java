@@ -0,0 +1,101 @@
+package com.example.movie_directors_service.unit.limiter;
+
+import com.example.movie_directors_service.exception.CircuitBreakerOpenException;
+import com.example.movie_directors_service.exception.ExternalApiException;
+import com.example.movie_directors_service.exception.RateLimitExceededException;
+import com.example.movie_directors_service.exception.UpstreamStatusException;
+import com.example.movie_directors_service.limiter.UpstreamCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UpstreamCircuitBreakerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_opensAfterConsecutiveFailuresAndFailsFast() {
+        UpstreamCircuitBreaker breaker = new UpstreamCircuitBreaker(3, 60, 1, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            StepVerifier.create(breaker.execute(() -> failingCall(calls)))
+                    .expectError(ExternalApiException.class)
+                    .verify();
+        }
+        StepVerifier.create(breaker.execute(() -> failingCall(calls)))
+                .expectError(CircuitBreakerOpenException.class)
+                .verify();
+
+        assertEquals(3, calls.get());
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1.0, meterRegistry.get("movies.api.circuit-breaker.rejected").counter().count());
+        assertEquals(2.0, meterRegistry.get("movies.api.circuit-breaker.state").gauge().value());
+    }
+
+    @Test
+    void execute_successResetsConsecutiveFailures() {
+        UpstreamCircuitBreaker breaker = new UpstreamCircuitBreaker(2, 60, 1, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        breaker.execute(() -> failingCall(calls)).onErrorResume(error -> Mono.empty()).block();
+        breaker.execute(() -> Mono.just("ok")).block();
+        breaker.execute(() -> failingCall(calls)).onErrorResume(error -> Mono.empty()).block();
+
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void execute_doesNotCountRateLimitRejectionsAsFailures() {
+        UpstreamCircuitBreaker breaker = new UpstreamCircuitBreaker(2, 60, 1, meterRegistry);
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            StepVerifier.create(breaker.execute(() -> Mono.error(new RateLimitExceededException("Movies API rate limit exceeded"))))
+                    .expectError(RateLimitExceededException.class)
+                    .verify();
+        }
+
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void execute_halfOpenTrialClosesOnSuccessAndReopensOnFailure() {
+        UpstreamCircuitBreaker breaker = new UpstreamCircuitBreaker(1, 0, 1, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        breaker.execute(() -> failingCall(calls)).onErrorResume(error -> Mono.empty()).block();
+        assertEquals(UpstreamCircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.execute(() -> failingCall(calls)).onErrorResume(error -> Mono.empty()).block();
+        assertEquals(2, calls.get());
+
+        StepVerifier.create(breaker.execute(() -> Mono.just("recovered")))
+                .expectNext("recovered")
+                .verifyComplete();
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void execute_clientErrorsDoNotOpenTheBreaker() {
+        UpstreamCircuitBreaker breaker = new UpstreamCircuitBreaker(1, 60, 1, meterRegistry);
+        UpstreamStatusException notFound = new UpstreamStatusException(HttpStatus.NOT_FOUND, HttpHeaders.EMPTY);
+
+        breaker.execute(() -> Mono.error(new ExternalApiException("page missing", notFound)))
+                .onErrorResume(error -> Mono.empty())
+                .block();
+
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private static Mono<String> failingCall(AtomicInteger calls) {
+        return Mono.fromCallable(calls::incrementAndGet)
+                .then(Mono.error(new ExternalApiException("upstream down")));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.movie_directors_service.unit.limiter;
+
+import com.example.movie_directors_service.exception.RateLimitExceededException;
+import com.example.movie_directors_service.limiter.UpstreamRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_spacesRequestsBeyondTheBurstAtTheConfiguredRate() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(true, 50, 2, 5_000, 100, meterRegistry);
+
+        long startedAt = System.nanoTime();
+        Flux.range(0, 7)
+                .flatMap(call -> limiter.execute(() -> Mono.just(call)))
+                .blockLast();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        // Two calls ride the burst; the other five wait 20ms each for a token.
+        assertTrue(elapsed.compareTo(Duration.ofMillis(95)) >= 0, "finished after only " + elapsed);
+        assertEquals(7, meterRegistry.get("movies.api.rate-limit.wait").timer().count());
+        assertEquals(0.0, meterRegistry.get("movies.api.rate-limit.waiting").gauge().value());
+    }
+
+    @Test
+    void execute_rejectsWhenTheWaitWouldExceedTheMaximum() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(true, 1, 1, 100, 100, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        limiter.execute(() -> Mono.fromCallable(calls::incrementAndGet)).block();
+        StepVerifier.create(limiter.execute(() -> Mono.fromCallable(calls::incrementAndGet)))
+                .expectError(RateLimitExceededException.class)
+                .verify();
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.get("movies.api.rate-limit.rejected").counter().count());
+    }
+
+    @Test
+    void execute_rejectsWhenTheQueueIsFullAndFreesSlotsOnCancel() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(true, 1, 1, 60_000, 2, meterRegistry);
+
+        limiter.execute(() -> Mono.just("burst")).block();
+        Disposable first = limiter.execute(() -> Mono.just("first")).subscribe();
+        Disposable second = limiter.execute(() -> Mono.just("second")).subscribe();
+        assertEquals(2, limiter.getWaiting());
+
+        StepVerifier.create(limiter.execute(() -> Mono.just("third")))
+                .expectError(RateLimitExceededException.class)
+                .verify();
+
+        first.dispose();
+        second.dispose();
+        assertEquals(0, limiter.getWaiting());
+    }
+
+    @Test
+    void execute_passesThroughWhenUnlimited() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(false, 1, 1, 0, 0, meterRegistry);
+
+        StepVerifier.create(Flux.range(0, 100).flatMap(call -> limiter.execute(() -> Mono.just(call))))
+                .expectNextCount(100)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+        assertEquals(0, limiter.getWaiting());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.movie_directors_service.unit.model;
+
+import com.example.movie_directors_service.model.DirectorDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DirectorDictionaryTest {
+
+    @Test
+    void idOf_returnsTheSameIdForEqualNames() {
+        DirectorDictionary dictionary = new DirectorDictionary(8);
+
+        int nolan = dictionary.idOf("Christopher Nolan");
+        int gerwig = dictionary.idOf("Greta Gerwig");
+
+        assertEquals(nolan, dictionary.idOf(new String("Christopher Nolan")));
+        assertNotEquals(nolan, gerwig);
+        assertEquals("Greta Gerwig", dictionary.nameOf(gerwig));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void idOf_charRangeMatchesStringLookup() {
+        DirectorDictionary dictionary = new DirectorDictionary(8);
+        int id = dictionary.idOf("Sofia Coppola");
+        char[] buffer = "{\"Director\":\"Sofia Coppola\"}".toCharArray();
+
+        assertEquals(id, dictionary.idOf(buffer, 13, 13));
+        int fresh = dictionary.idOf(buffer, 2, 8);
+        assertEquals("Director", dictionary.nameOf(fresh));
+        assertEquals(fresh, dictionary.idOf("Director"));
+    }
+
+    @Test
+    void idOf_keepsIdsStableWhileGrowing() {
+        DirectorDictionary dictionary = new DirectorDictionary(8);
+        for (int director = 0; director < 10_000; director++) {
+            assertEquals(director, dictionary.idOf("Director " + director));
+        }
+
+        for (int director = 0; director < 10_000; director++) {
+            assertEquals(director, dictionary.idOf("Director " + director));
+            assertEquals("Director " + director, dictionary.nameOf(director));
+        }
+        assertEquals(10_000, dictionary.size());
+    }
+
+    @Test
+    void idOf_concurrentCallersAgreeOnIds() throws Exception {
+        DirectorDictionary dictionary = new DirectorDictionary(8);
+        int names = 5_000;
+        List<Callable<int[]>> callers = new ArrayList<>();
+        for (int caller = 0; caller < 8; caller++) {
+            int offset = caller * 613;
+            callers.add(() -> {
+                int[] ids = new int[names];
+                for (int i = 0; i < names; i++) {
+                    int director = (i + offset) % names;
+                    ids[director] = dictionary.idOf("Director " + director);
+                }
+                return ids;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<int[]>> results = executor.invokeAll(callers);
+            int[] expected = results.get(0).get();
+            for (Future<int[]> result : results) {
+                int[] ids = result.get();
+                for (int director = 0; director < names; director++) {
+                    assertEquals(expected[director], ids[director]);
+                    assertEquals("Director " + director, dictionary.nameOf(ids[director]));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(names, dictionary.size());
+    }
+
+    @Test
+    void nameOf_rejectsUnknownIds() {
+        DirectorDictionary dictionary = new DirectorDictionary(8);
+        dictionary.idOf("Woody Allen");
+
+        assertThrows(IllegalArgumentException.class, () -> dictionary.nameOf(1));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.nameOf(-1));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.movie_directors_service.unit.model;
+
+import com.example.movie_directors_service.model.DirectorThresholdIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectorThresholdIndexTest {
+
+    @Test
+    void directorsAbove_matchesFilterAndSortForEveryThreshold() {
+        Random random = new Random(42);
+        Map<String, Long> counts = new HashMap<>();
+        for (int director = 0; director < 2_000; director++) {
+            counts.put("Director " + random.nextInt(1_000_000), 1L + (long) Math.floor(Math.pow(random.nextDouble(), 6) * 40));
+        }
+
+        DirectorThresholdIndex index = DirectorThresholdIndex.of(counts);
+
+        for (long threshold = 0; threshold <= 42; threshold++) {
+            assertEquals(filterAndSort(counts, threshold), index.directorsAbove(threshold), "threshold " + threshold);
+        }
+    }
+
+    @Test
+    void directorsAbove_thresholdIsStrictlyGreaterThan() {
+        DirectorThresholdIndex index = DirectorThresholdIndex.of(Map.of(
+                "Woody Allen", 3L,
+                "Martin Scorsese", 2L,
+                "Sofia Coppola", 2L,
+                "Greta Gerwig", 1L));
+
+        assertEquals(List.of("Greta Gerwig", "Martin Scorsese", "Sofia Coppola", "Woody Allen"), index.directorsAbove(0));
+        assertEquals(List.of("Martin Scorsese", "Sofia Coppola", "Woody Allen"), index.directorsAbove(1));
+        assertEquals(List.of("Woody Allen"), index.directorsAbove(2));
+        assertTrue(index.directorsAbove(3).isEmpty());
+    }
+
+    @Test
+    void directorsAbove_emptyIndexReturnsEmptyList() {
+        assertTrue(DirectorThresholdIndex.of(Map.of()).directorsAbove(0).isEmpty());
+    }
+
+    @Test
+    void answerKey_isSharedExactlyByThresholdsWithTheSameAnswer() {
+        DirectorThresholdIndex index = DirectorThresholdIndex.of(Map.of(
+                "Woody Allen", 6L,
+                "Martin Scorsese", 2L,
+                "Greta Gerwig", 1L));
+
+        for (long a = 0; a <= 7; a++) {
+            for (long b = 0; b <= 7; b++) {
+                assertEquals(index.directorsAbove(a).equals(index.directorsAbove(b)), index.answerKey(a) == index.answerKey(b),
+                        "thresholds " + a + " and " + b);
+            }
+        }
+    }
+
+    @Test
+    void top_returnsMostProlificDirectorsByCountThenName() {
+        DirectorThresholdIndex index = DirectorThresholdIndex.of(Map.of(
+                "Woody Allen", 3L,
+                "Martin Scorsese", 2L,
+                "Sofia Coppola", 2L,
+                "Greta Gerwig", 1L));
+
+        assertEquals(List.of(Map.entry("Woody Allen", 3L), Map.entry("Martin Scorsese", 2L)), index.top(2));
+        assertEquals(4, index.top(10).size());
+        assertTrue(index.top(0).isEmpty());
+        assertTrue(DirectorThresholdIndex.of(Map.of()).top(5).isEmpty());
+    }
+
+    @Test
+    void top_matchesFullSortForEveryK() {
+        Random random = new Random(7);
+        Map<String, Long> counts = new HashMap<>();
+        for (int director = 0; director < 1_000; director++) {
+            counts.put("Director " + random.nextInt(1_000_000), 1L + (long) Math.floor(Math.pow(random.nextDouble(), 6) * 40));
+        }
+        List<Map.Entry<String, Long>> sorted = counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+
+        DirectorThresholdIndex index = DirectorThresholdIndex.of(counts);
+
+        for (int k = 1; k <= counts.size(); k += 37) {
+            assertEquals(sorted.subList(0, k), index.top(k), "k " + k);
+        }
+    }
+
+    private List<String> filterAndSort(Map<String, Long> counts, long threshold) {
+        return counts.entrySet().stream()
+                .filter(entry -> entry.getValue() > threshold)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
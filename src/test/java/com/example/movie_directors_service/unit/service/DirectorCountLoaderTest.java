@@ -0,0 +1,324 @@
+package com.example.movie_directors_service.unit.service;
+
+import com.example.movie_directors_service.client.MoviesApiClient;
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
+import com.example.movie_directors_service.exception.CircuitBreakerOpenException;
+import com.example.movie_directors_service.exception.ExternalApiException;
+import com.example.movie_directors_service.limiter.AdaptiveConcurrencyLimiter;
+import com.example.movie_directors_service.limiter.UpstreamCircuitBreaker;
+import com.example.movie_directors_service.model.DirectorDictionary;
+import com.example.movie_directors_service.service.DirectorCountLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DirectorCountLoaderTest {
+
+    private static final int TOTAL_PAGES = 1_000;
+    private static final int PAGE_SIZE = 1_000;
+    private static final int DISTINCT_DIRECTORS = 1_000;
+    private static final int GC_ATTEMPTS = 50;
+
+    @Mock
+    private MoviesApiClient moviesApiClient;
+
+    private final DirectorDictionary dictionary = new DirectorDictionary(16);
+
+    @Test
+    void loadSnapshot_millionMovieCatalogIsAggregatedWithoutRetainingPages() {
+        AtomicReferenceArray<WeakReference<DirectorTallyPage>> emitted = new AtomicReferenceArray<>(TOTAL_PAGES + 1);
+        AtomicInteger retainedWhileOnLastPage = new AtomicInteger(-1);
+
+        when(moviesApiClient.fetchDirectorTallyPage(anyInt())).thenAnswer(invocation -> {
+            int page = invocation.getArgument(0);
+            return Mono.fromSupplier(() -> {
+                if (page == TOTAL_PAGES) {
+                    retainedWhileOnLastPage.set(awaitUnreachable(emitted, TOTAL_PAGES / 2));
+                }
+                DirectorTallyPage tally = syntheticPage(page);
+                emitted.set(page, new WeakReference<>(tally));
+                return tally;
+            }).subscribeOn(Schedulers.parallel());
+        });
+
+        DirectorCountLoader loader = new DirectorCountLoader(moviesApiClient, dictionary, concurrencyLimiter(), circuitBreaker(), false, 3600, new SimpleMeterRegistry());
+
+        StepVerifier.create(loader.loadSnapshot())
+                .assertNext(snapshot -> {
+                    assertEquals(DISTINCT_DIRECTORS, snapshot.getDirectorCounts().size());
+                    long expectedPerDirector = (long) TOTAL_PAGES * PAGE_SIZE / DISTINCT_DIRECTORS;
+                    snapshot.getDirectorCounts().values()
+                            .forEach(count -> assertEquals(expectedPerDirector, count));
+                })
+                .verifyComplete();
+
+        assertEquals(0, retainedWhileOnLastPage.get(),
+                "Pages folded into the tally were still reachable while the last page was being fetched");
+    }
+
+    @Test
+    void loadSnapshot_countsDroppedPagesAndTimesTheCrawl() {
+        when(moviesApiClient.fetchDirectorTallyPage(anyInt())).thenAnswer(invocation -> {
+            int page = invocation.getArgument(0);
+            if (page == 2) {
+                return Mono.error(new ExternalApiException("page 2 unavailable"));
+            }
+            return Mono.just(DirectorTallyPage.builder(dictionary).page(page).total(3).totalPages(3).addDirector("Director A").build());
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DirectorCountLoader loader = new DirectorCountLoader(moviesApiClient, dictionary, concurrencyLimiter(), circuitBreaker(), false, 3600, meterRegistry);
+
+        StepVerifier.create(loader.loadSnapshot())
+                .assertNext(snapshot -> assertEquals(2L, snapshot.getDirectorCounts().get("Director A")))
+                .verifyComplete();
+
+        assertEquals(1.0, meterRegistry.get("movies.catalog.pages.dropped").counter().count());
+        assertEquals(1, meterRegistry.get("movies.catalog.crawl").tag("outcome", "partial").timer().count());
+    }
+
+    @Test
+    void loadSnapshot_failsWhenFirstPageIsEmpty() {
+        when(moviesApiClient.fetchDirectorTallyPage(1)).thenReturn(Mono.empty());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DirectorCountLoader loader = new DirectorCountLoader(moviesApiClient, dictionary, concurrencyLimiter(), circuitBreaker(), false, 3600, meterRegistry);
+
+        StepVerifier.create(loader.loadSnapshot())
+                .expectError(ExternalApiException.class)
+                .verify();
+
+        assertEquals(1, meterRegistry.get("movies.catalog.crawl").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void loadSnapshot_abandonsCrawlOnceCircuitBreakerOpens() {
+        when(moviesApiClient.fetchDirectorTallyPage(anyInt())).thenAnswer(invocation -> {
+            int page = invocation.getArgument(0);
+            if (page == 2) {
+                return Mono.error(new ExternalApiException("page 2 timed out"));
+            }
+            return Mono.just(DirectorTallyPage.builder(dictionary).page(page).total(10).totalPages(10).addDirector("Director A").build());
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DirectorCountLoader loader = new DirectorCountLoader(moviesApiClient, dictionary,
+                new AdaptiveConcurrencyLimiter(1, 1, 1, 0.5, 2.0, meterRegistry),
+                new UpstreamCircuitBreaker(1, 60, 1, meterRegistry),
+                false, 3600,
+                meterRegistry);
+
+        StepVerifier.create(loader.loadSnapshot())
+                .expectError(CircuitBreakerOpenException.class)
+                .verify();
+
+        verify(moviesApiClient, never()).fetchDirectorTallyPage(3);
+        assertEquals(1, meterRegistry.get("movies.catalog.crawl").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void loadSnapshot_incrementalSyncRevalidatesEveryPageAndPatchesTheOnesThatChanged() {
+        Map<Integer, DirectorTallyPage> catalog = new ConcurrentHashMap<>(Map.of(
+                1, page(1, 3, "Director A", "Director B"),
+                2, page(2, 3, "Director B", "Director C"),
+                3, page(3, 3, "Director C")));
+        when(moviesApiClient.fetchDirectorTallyPage(anyInt()))
+                .thenAnswer(invocation -> Mono.just(catalog.get(invocation.<Integer>getArgument(0))));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DirectorCountLoader loader = incrementalLoader(3600, meterRegistry);
+
+        StepVerifier.create(loader.loadSnapshot())
+                .assertNext(snapshot -> assertEquals(Map.of("Director A", 1L, "Director B", 2L, "Director C", 2L), snapshot.getDirectorCounts()))
+                .verifyComplete();
+
+        // A movie in the middle of the catalog was edited, the last page filled up and a fourth page
+        // was appended.
+        catalog.put(1, page(1, 4, "Director A", "Director B"));
+        catalog.put(2, page(2, 4, "Director B", "Director E"));
+        catalog.put(3, page(3, 4, "Director A", "Director D"));
+        catalog.put(4, page(4, 4, "Director D"));
+
+        StepVerifier.create(loader.loadSnapshot())
+                .assertNext(snapshot -> {
+                    assertEquals(Map.of("Director A", 2L, "Director B", 2L, "Director D", 2L, "Director E", 1L), snapshot.getDirectorCounts());
+                    assertEquals(4, snapshot.getCoverage().pagesFetched());
+                    assertEquals(4, snapshot.getCoverage().totalPages());
+                })
+                .verifyComplete();
+
+        verify(moviesApiClient, times(2)).fetchDirectorTallyPage(1);
+        verify(moviesApiClient, times(2)).fetchDirectorTallyPage(2);
+        verify(moviesApiClient, times(2)).fetchDirectorTallyPage(3);
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(4);
+        assertEquals(1.0, meterRegistry.get("movies.catalog.syncs").tag("mode", "full").counter().count());
+        assertEquals(1.0, meterRegistry.get("movies.catalog.syncs").tag("mode", "incremental").counter().count());
+    }
+
+    @Test
+    void loadSnapshot_incrementalSyncFollowsPagesShiftedByAnInsertAtTheFront() {
+        Map<Integer, DirectorTallyPage> catalog = new ConcurrentHashMap<>(Map.of(
+                1, page(1, 2, "Director A"),
+                2, page(2, 2, "Director B")));
+        when(moviesApiClient.fetchDirectorTallyPage(anyInt()))
+                .thenAnswer(invocation -> Mono.just(catalog.get(invocation.<Integer>getArgument(0))));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DirectorCountLoader loader = incrementalLoader(3600, meterRegistry);
+        loader.loadSnapshot().block();
+
+        // A movie inserted at the front shifts every page.
+        catalog.put(1, page(1, 2, "Director Z"));
+        catalog.put(2, page(2, 2, "Director A"));
+
+        StepVerifier.create(loader.loadSnapshot())
+                .assertNext(snapshot -> assertEquals(Map.of("Director Z", 1L, "Director A", 1L), snapshot.getDirectorCounts()))
+                .verifyComplete();
+
+        verify(moviesApiClient, times(2)).fetchDirectorTallyPage(2);
+        assertEquals(1.0, meterRegistry.get("movies.catalog.syncs").tag("mode", "full").counter().count());
+        assertEquals(1.0, meterRegistry.get("movies.catalog.syncs").tag("mode", "incremental").counter().count());
+    }
+
+    @Test
+    void loadSnapshot_crawlsInFullWhenTheCatalogShrank() {
+        Map<Integer, DirectorTallyPage> catalog = new ConcurrentHashMap<>(Map.of(
+                1, page(1, 3, "Director A"),
+                2, page(2, 3, "Director B"),
+                3, page(3, 3, "Director C")));
+        when(moviesApiClient.fetchDirectorTallyPage(anyInt()))
+                .thenAnswer(invocation -> Mono.just(catalog.get(invocation.<Integer>getArgument(0))));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DirectorCountLoader loader = incrementalLoader(3600, meterRegistry);
+        loader.loadSnapshot().block();
+
+        catalog.put(1, page(1, 2, "Director A"));
+        catalog.put(2, page(2, 2, "Director C"));
+        catalog.remove(3);
+
+        StepVerifier.create(loader.loadSnapshot())
+                .assertNext(snapshot -> assertEquals(Map.of("Director A", 1L, "Director C", 1L), snapshot.getDirectorCounts()))
+                .verifyComplete();
+
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(3);
+        assertEquals(2.0, meterRegistry.get("movies.catalog.syncs").tag("mode", "full").counter().count());
+    }
+
+    @Test
+    void loadSnapshot_crawlsInFullOnceTheFullSyncIntervalHasPassed() {
+        when(moviesApiClient.fetchDirectorTallyPage(anyInt()))
+                .thenAnswer(invocation -> Mono.just(page(invocation.getArgument(0), 3, "Director A")));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DirectorCountLoader loader = incrementalLoader(0, meterRegistry);
+
+        loader.loadSnapshot().block();
+        loader.loadSnapshot().block();
+
+        verify(moviesApiClient, times(2)).fetchDirectorTallyPage(2);
+        assertEquals(2.0, meterRegistry.get("movies.catalog.syncs").tag("mode", "full").counter().count());
+        assertEquals(0.0, meterRegistry.get("movies.catalog.syncs").tag("mode", "incremental").counter().count());
+    }
+
+    @Test
+    void loadSnapshot_incrementalSyncKeepsTheLastTallyOfAPageThatFailsAndRetriesMissingPages() {
+        AtomicBoolean upstreamHealthy = new AtomicBoolean(false);
+        when(moviesApiClient.fetchDirectorTallyPage(anyInt())).thenAnswer(invocation -> {
+            int page = invocation.getArgument(0);
+            if (page == 2 && !upstreamHealthy.get()) {
+                return Mono.error(new ExternalApiException("page 2 unavailable"));
+            }
+            if (page == 3 && upstreamHealthy.get()) {
+                return Mono.error(new ExternalApiException("page 3 unavailable"));
+            }
+            return Mono.just(page(page, 3, "Director " + page));
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DirectorCountLoader loader = incrementalLoader(3600, meterRegistry);
+
+        StepVerifier.create(loader.loadSnapshot())
+                .assertNext(snapshot -> assertEquals(2, snapshot.getCoverage().pagesFetched()))
+                .verifyComplete();
+
+        upstreamHealthy.set(true);
+
+        StepVerifier.create(loader.loadSnapshot())
+                .assertNext(snapshot -> {
+                    assertEquals(Map.of("Director 1", 1L, "Director 2", 1L, "Director 3", 1L), snapshot.getDirectorCounts());
+                    assertTrue(snapshot.getCoverage().isComplete());
+                })
+                .verifyComplete();
+
+        assertEquals(1.0, meterRegistry.get("movies.catalog.pages.dropped").counter().count());
+    }
+
+    private DirectorTallyPage syntheticPage(int page) {
+        DirectorTallyPage.Builder builder = DirectorTallyPage.builder(dictionary)
+                .page(page)
+                .total(TOTAL_PAGES * PAGE_SIZE)
+                .totalPages(TOTAL_PAGES);
+        for (int index = 0; index < PAGE_SIZE; index++) {
+            builder.addDirector(new String("Director " + (index % DISTINCT_DIRECTORS)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * How many of the first {@code pages} emitted pages are still reachable once the collector has
+     * had up to {@link #GC_ATTEMPTS} chances to clear them. This checks reachability rather than
+     * heap usage, so it does not hinge on how much the collector happens to reclaim at one moment.
+     */
+    private static int awaitUnreachable(AtomicReferenceArray<WeakReference<DirectorTallyPage>> emitted, int pages) {
+        int reachable = pages;
+        for (int attempt = 0; attempt < GC_ATTEMPTS && reachable > 0; attempt++) {
+            System.gc();
+            reachable = 0;
+            for (int page = 1; page <= pages; page++) {
+                WeakReference<DirectorTallyPage> reference = emitted.get(page);
+                if (reference != null && reference.get() != null) {
+                    reachable++;
+                }
+            }
+        }
+        return reachable;
+    }
+
+    private UpstreamCircuitBreaker circuitBreaker() {
+        return new UpstreamCircuitBreaker(5, 30, 1, new SimpleMeterRegistry());
+    }
+
+    private AdaptiveConcurrencyLimiter concurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter(5, 1, 32, 0.5, 2.0, new SimpleMeterRegistry());
+    }
+
+    private DirectorCountLoader incrementalLoader(long fullSyncIntervalSeconds, SimpleMeterRegistry meterRegistry) {
+        return new DirectorCountLoader(moviesApiClient, dictionary, concurrencyLimiter(), circuitBreaker(), true, fullSyncIntervalSeconds,
+                meterRegistry);
+    }
+
+    private DirectorTallyPage page(int page, int totalPages, String... directors) {
+        DirectorTallyPage.Builder builder = DirectorTallyPage.builder(dictionary)
+                .page(page)
+                .total(totalPages * 2)
+                .totalPages(totalPages);
+        for (String director : directors) {
+            builder.addDirector(director);
+        }
+        return builder.build();
+    }
+}
@@ -1,11 +1,24 @@
 package com.example.movie_directors_service.unit.service;
 
+import com.example.movie_directors_service.cache.DirectorSnapshotCache;
+import com.example.movie_directors_service.cache.DirectorSnapshotCodec;
+import com.example.movie_directors_service.cache.DirectorsResponseCache;
 import com.example.movie_directors_service.client.MoviesApiClient;
+import com.example.movie_directors_service.dto.response.DirectorCountResponse;
+import com.example.movie_directors_service.dto.response.DirectorTallyPage;
 import com.example.movie_directors_service.dto.response.DirectorsResponse;
-import com.example.movie_directors_service.dto.response.MoviesPageResponse;
+import com.example.movie_directors_service.dto.response.EncodedDirectorsResponse;
+import com.example.movie_directors_service.limiter.AdaptiveConcurrencyLimiter;
+import com.example.movie_directors_service.limiter.UpstreamCircuitBreaker;
+import com.example.movie_directors_service.model.CatalogCoverage;
+import com.example.movie_directors_service.model.DirectorCountSnapshot;
+import com.example.movie_directors_service.model.DirectorDictionary;
 import com.example.movie_directors_service.model.Movie;
+import com.example.movie_directors_service.service.DirectorCountLoader;
 import com.example.movie_directors_service.service.DirectorsService;
 import com.example.movie_directors_service.service.DirectorsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,11 +28,24 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import reactor.test.publisher.TestPublisher;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,41 +54,46 @@ class DirectorsServiceTest {
     @Mock
     private MoviesApiClient moviesApiClient;
 
+    private final DirectorDictionary dictionary = new DirectorDictionary(16);
+
     private DirectorsService directorsService;
 
     @BeforeEach
     void setUp() {
-        directorsService = new DirectorsServiceImpl(moviesApiClient);
+        directorsService = new DirectorsServiceImpl(
+                new DirectorSnapshotCache(new DirectorCountLoader(moviesApiClient, dictionary, concurrencyLimiter(), circuitBreaker(), false, 3600, new SimpleMeterRegistry()), 300, new SimpleMeterRegistry()),
+                responseCache(),
+                240);
     }
 
     @Test
-    void testGetDirectorsAboveThreshold_SinglePage() {
+    void testGetEncodedDirectorsAboveThreshold_SinglePage() {
         Movie movie1 = createMovieWithDirector("Martin Scorsese");
         Movie movie2 = createMovieWithDirector("Woody Allen");
         Movie movie3 = createMovieWithDirector("Martin Scorsese");
         Movie movie4 = createMovieWithDirector("Woody Allen");
 
-        MoviesPageResponse page1 = createMoviesPageResponse(
+        DirectorTallyPage page1 = createDirectorTallyPage(
                 Arrays.asList(movie1, movie2, movie3, movie4),
                 1,
                 1);
 
-        when(moviesApiClient.fetchMoviesPage(1))
+        when(moviesApiClient.fetchDirectorTallyPage(1))
                 .thenReturn(Mono.just(page1));
 
-        StepVerifier.create(directorsService.getDirectorsAboveThreshold(1L))
+        StepVerifier.create(directorsAbove(directorsService, 1L))
                 .expectNext(DirectorsResponse.of(List.of("Martin Scorsese", "Woody Allen")))
                 .verifyComplete();
 
-        verify(moviesApiClient, times(1)).fetchMoviesPage(1);
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(1);
     }
 
     @Test
-    void testGetDirectorsAboveThreshold_MultiplePages() {
+    void testGetEncodedDirectorsAboveThreshold_MultiplePages() {
         Movie movie1 = createMovieWithDirector("Martin Scorsese");
         Movie movie2 = createMovieWithDirector("Woody Allen");
 
-        MoviesPageResponse page1 = createMoviesPageResponse(
+        DirectorTallyPage page1 = createDirectorTallyPage(
                 Arrays.asList(movie1, movie2),
                 1,
                 2);
@@ -70,26 +101,26 @@ class DirectorsServiceTest {
         Movie movie3 = createMovieWithDirector("Martin Scorsese");
         Movie movie4 = createMovieWithDirector("Martin Scorsese");
 
-        MoviesPageResponse page2 = createMoviesPageResponse(
+        DirectorTallyPage page2 = createDirectorTallyPage(
                 Arrays.asList(movie3, movie4),
                 2,
                 2);
 
-        when(moviesApiClient.fetchMoviesPage(1))
+        when(moviesApiClient.fetchDirectorTallyPage(1))
                 .thenReturn(Mono.just(page1));
-        when(moviesApiClient.fetchMoviesPage(2))
+        when(moviesApiClient.fetchDirectorTallyPage(2))
                 .thenReturn(Mono.just(page2));
 
-        StepVerifier.create(directorsService.getDirectorsAboveThreshold(2L))
+        StepVerifier.create(directorsAbove(directorsService, 2L))
                 .expectNext(DirectorsResponse.of(List.of("Martin Scorsese")))
                 .verifyComplete();
 
-        verify(moviesApiClient, times(1)).fetchMoviesPage(1);
-        verify(moviesApiClient, times(1)).fetchMoviesPage(2);
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(1);
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(2);
     }
 
     @Test
-    void testGetDirectorsAboveThreshold_FiltersNullAndBlankDirectors() {
+    void testGetEncodedDirectorsAboveThreshold_FiltersNullAndBlankDirectors() {
         Movie movie1 = createMovieWithDirector("Martin Scorsese");
         Movie movie2 = createMovieWithDirector(null);  // Should be skipped
         Movie movie3 = createMovieWithDirector("");    // Should be skipped
@@ -98,39 +129,39 @@ class DirectorsServiceTest {
         Movie movie6 = createMovieWithDirector("Woody Allen");
         Movie movie7 = createMovieWithDirector("Martin Scorsese");
 
-        MoviesPageResponse page1 = createMoviesPageResponse(
+        DirectorTallyPage page1 = createDirectorTallyPage(
                 Arrays.asList(movie1, movie2, movie3, movie4, movie5, movie6, movie7),
                 1,
                 1);
 
-        when(moviesApiClient.fetchMoviesPage(1))
+        when(moviesApiClient.fetchDirectorTallyPage(1))
                 .thenReturn(Mono.just(page1));
 
-        StepVerifier.create(directorsService.getDirectorsAboveThreshold(1L))
+        StepVerifier.create(directorsAbove(directorsService, 1L))
                 .expectNext(DirectorsResponse.of(List.of("Martin Scorsese", "Woody Allen")))
                 .verifyComplete();
     }
 
     @Test
-    void testGetDirectorsAboveThreshold_NoDirectorsAboveThreshold() {
+    void testGetEncodedDirectorsAboveThreshold_NoDirectorsAboveThreshold() {
         Movie movie1 = createMovieWithDirector("Director A");
         Movie movie2 = createMovieWithDirector("Director B");
 
-        MoviesPageResponse page1 = createMoviesPageResponse(
+        DirectorTallyPage page1 = createDirectorTallyPage(
                 Arrays.asList(movie1, movie2),
                 1,
                 1);
 
-        when(moviesApiClient.fetchMoviesPage(1))
+        when(moviesApiClient.fetchDirectorTallyPage(1))
                 .thenReturn(Mono.just(page1));
 
-        StepVerifier.create(directorsService.getDirectorsAboveThreshold(10L))
+        StepVerifier.create(directorsAbove(directorsService, 10L))
                 .expectNext(DirectorsResponse.of(List.of()))
                 .verifyComplete();
     }
 
     @Test
-    void testGetDirectorsAboveThreshold_AlphabeticalOrder() {
+    void testGetEncodedDirectorsAboveThreshold_AlphabeticalOrder() {
         Movie movie1 = createMovieWithDirector("Zack Snyder");
         Movie movie2 = createMovieWithDirector("Martin Scorsese");
         Movie movie3 = createMovieWithDirector("Woody Allen");
@@ -138,76 +169,80 @@ class DirectorsServiceTest {
         Movie movie5 = createMovieWithDirector("Martin Scorsese");
         Movie movie6 = createMovieWithDirector("Woody Allen");
 
-        MoviesPageResponse page1 = createMoviesPageResponse(
+        DirectorTallyPage page1 = createDirectorTallyPage(
                 Arrays.asList(movie1, movie2, movie3, movie4, movie5, movie6),
                 1,
                 1);
 
-        when(moviesApiClient.fetchMoviesPage(1))
+        when(moviesApiClient.fetchDirectorTallyPage(1))
                 .thenReturn(Mono.just(page1));
 
-        StepVerifier.create(directorsService.getDirectorsAboveThreshold(1L))
+        StepVerifier.create(directorsAbove(directorsService, 1L))
                 .expectNext(DirectorsResponse.of(List.of("Martin Scorsese", "Woody Allen", "Zack Snyder")))
                 .verifyComplete();
     }
 
     @Test
-    void testGetDirectorsAboveThreshold_FirstPageFailureReturnsEmptyResponse() {
-        when(moviesApiClient.fetchMoviesPage(1))
+    void testGetEncodedDirectorsAboveThreshold_FirstPageFailureWithoutSnapshotPropagatesError() {
+        when(moviesApiClient.fetchDirectorTallyPage(1))
                 .thenReturn(Mono.error(new RuntimeException("API unavailable")));
 
-        StepVerifier.create(directorsService.getDirectorsAboveThreshold(1L))
-                .expectNext(DirectorsResponse.of(List.of()))
-                .verifyComplete();
+        StepVerifier.create(directorsAbove(directorsService, 1L))
+                .expectErrorMessage("API unavailable")
+                .verify();
 
-        verify(moviesApiClient, times(1)).fetchMoviesPage(1);
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(1);
     }
 
     @Test
-    void testGetDirectorsAboveThreshold_ThresholdStrictlyGreaterThan() {
+    void testGetEncodedDirectorsAboveThreshold_ThresholdStrictlyGreaterThan() {
         Movie directorA = createMovieWithDirector("Director A");
         Movie directorB = createMovieWithDirector("Director B");
 
-        MoviesPageResponse page = createMoviesPageResponse(
+        DirectorTallyPage page = createDirectorTallyPage(
                 Arrays.asList(directorA, directorA, directorB, directorB),
                 1,
                 1);
 
-        when(moviesApiClient.fetchMoviesPage(1)).thenReturn(Mono.just(page));
+        when(moviesApiClient.fetchDirectorTallyPage(1)).thenReturn(Mono.just(page));
 
-        StepVerifier.create(directorsService.getDirectorsAboveThreshold(2L))
+        StepVerifier.create(directorsAbove(directorsService, 2L))
                 .expectNext(DirectorsResponse.of(List.of()))
                 .verifyComplete();
     }
 
     @Test
-    void testGetDirectorsAboveThreshold_PartialPageFailuresAreIgnoredAndProcessingContinues() {
+    void testGetEncodedDirectorsAboveThreshold_PartialPageFailuresAreIgnoredAndProcessingContinues() {
         Movie pageOneMovie = createMovieWithDirector("Director Alpha");
         Movie pageThreeMovie = createMovieWithDirector("Director Omega");
 
-        MoviesPageResponse firstPage = createMoviesPageResponse(List.of(pageOneMovie), 1, 3);
-        MoviesPageResponse thirdPage = createMoviesPageResponse(List.of(pageThreeMovie), 3, 3);
+        DirectorTallyPage firstPage = createDirectorTallyPage(List.of(pageOneMovie), 1, 3);
+        DirectorTallyPage thirdPage = createDirectorTallyPage(List.of(pageThreeMovie), 3, 3);
 
-        TestPublisher<MoviesPageResponse> secondPagePublisher = TestPublisher.create();
-        TestPublisher<MoviesPageResponse> thirdPagePublisher = TestPublisher.create();
+        TestPublisher<DirectorTallyPage> secondPagePublisher = TestPublisher.create();
+        TestPublisher<DirectorTallyPage> thirdPagePublisher = TestPublisher.create();
 
-        when(moviesApiClient.fetchMoviesPage(1)).thenReturn(Mono.just(firstPage));
-        when(moviesApiClient.fetchMoviesPage(2)).thenReturn(secondPagePublisher.mono());
-        when(moviesApiClient.fetchMoviesPage(3)).thenReturn(thirdPagePublisher.mono());
+        when(moviesApiClient.fetchDirectorTallyPage(1)).thenReturn(Mono.just(firstPage));
+        when(moviesApiClient.fetchDirectorTallyPage(2)).thenReturn(secondPagePublisher.mono());
+        when(moviesApiClient.fetchDirectorTallyPage(3)).thenReturn(thirdPagePublisher.mono());
 
-        StepVerifier.create(directorsService.getDirectorsAboveThreshold(0L))
+        StepVerifier.create(directorsService.getEncodedDirectorsAboveThreshold(0L))
                 .then(() -> thirdPagePublisher.emit(thirdPage))
                 .then(() -> secondPagePublisher.error(new RuntimeException("Page 2 failure")))
-                .expectNext(DirectorsResponse.of(List.of("Director Alpha", "Director Omega")))
+                .assertNext(encoded -> {
+                    assertEquals(List.of("Director Alpha", "Director Omega"), decode(encoded).getDirectors());
+                    assertEquals(new CatalogCoverage(2, 3), encoded.getCoverage());
+                    assertFalse(encoded.getCoverage().isComplete());
+                })
                 .verifyComplete();
 
-        verify(moviesApiClient, times(1)).fetchMoviesPage(1);
-        verify(moviesApiClient, times(1)).fetchMoviesPage(2);
-        verify(moviesApiClient, times(1)).fetchMoviesPage(3);
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(1);
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(2);
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(3);
     }
 
     @Test
-    void testGetDirectorsAboveThreshold_HandlesLargeDatasetEfficiently() {
+    void testGetEncodedDirectorsAboveThreshold_HandlesLargeDatasetEfficiently() {
         int totalPages = 5;
         int pageSize = 500;
 
@@ -216,30 +251,247 @@ class DirectorsServiceTest {
                     .mapToObj(index -> createMovieWithDirector(index % 2 == 0 ? "Director A" : "Director B"))
                     .collect(Collectors.toList());
 
-            MoviesPageResponse response = createMoviesPageResponse(pageData, page, totalPages);
-            when(moviesApiClient.fetchMoviesPage(page)).thenReturn(Mono.just(response));
+            DirectorTallyPage response = createDirectorTallyPage(pageData, page, totalPages);
+            when(moviesApiClient.fetchDirectorTallyPage(page)).thenReturn(Mono.just(response));
         }
 
-        StepVerifier.create(directorsService.getDirectorsAboveThreshold(1200L))
+        StepVerifier.create(directorsAbove(directorsService, 1200L))
                 .expectNext(DirectorsResponse.of(List.of("Director A", "Director B")))
                 .verifyComplete();
 
         for (int page = 1; page <= totalPages; page++) {
-            verify(moviesApiClient, times(1)).fetchMoviesPage(page);
+            verify(moviesApiClient, times(1)).fetchDirectorTallyPage(page);
         }
     }
 
-    private MoviesPageResponse createMoviesPageResponse(
+    @Test
+    void testGetEncodedDirectorsAboveThreshold_ServesRepeatedQueriesFromCachedSnapshot() {
+        DirectorTallyPage page = createDirectorTallyPage(
+                Arrays.asList(
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Woody Allen")),
+                1,
+                1);
+
+        when(moviesApiClient.fetchDirectorTallyPage(1)).thenReturn(Mono.just(page));
+
+        StepVerifier.create(directorsAbove(directorsService, 0L))
+                .expectNext(DirectorsResponse.of(List.of("Martin Scorsese", "Woody Allen")))
+                .verifyComplete();
+
+        StepVerifier.create(directorsAbove(directorsService, 1L))
+                .expectNext(DirectorsResponse.of(List.of("Martin Scorsese")))
+                .verifyComplete();
+
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(1);
+    }
+
+    @Test
+    void testGetEncodedDirectorsAboveThreshold_ExpiredSnapshotIsReloaded() {
+        DirectorsService uncachedService = new DirectorsServiceImpl(
+                new DirectorSnapshotCache(new DirectorCountLoader(moviesApiClient, dictionary, concurrencyLimiter(), circuitBreaker(), false, 3600, new SimpleMeterRegistry()), 0, new SimpleMeterRegistry()),
+                responseCache(),
+                240);
+
+        DirectorTallyPage page = createDirectorTallyPage(
+                List.of(createMovieWithDirector("Director A")),
+                1,
+                1);
+
+        when(moviesApiClient.fetchDirectorTallyPage(1)).thenReturn(Mono.just(page));
+
+        StepVerifier.create(directorsAbove(uncachedService, 0L))
+                .expectNext(DirectorsResponse.of(List.of("Director A")))
+                .verifyComplete();
+
+        StepVerifier.create(directorsAbove(uncachedService, 0L))
+                .expectNext(DirectorsResponse.of(List.of("Director A")))
+                .verifyComplete();
+
+        verify(moviesApiClient, times(2)).fetchDirectorTallyPage(1);
+    }
+
+    @Test
+    void testGetEncodedDirectorsAboveThreshold_FailedLoadIsNotCached() {
+        DirectorTallyPage page = createDirectorTallyPage(
+                List.of(createMovieWithDirector("Director A")),
+                1,
+                1);
+
+        when(moviesApiClient.fetchDirectorTallyPage(1))
+                .thenReturn(Mono.error(new RuntimeException("API unavailable")))
+                .thenReturn(Mono.just(page));
+
+        StepVerifier.create(directorsAbove(directorsService, 0L))
+                .expectErrorMessage("API unavailable")
+                .verify();
+
+        StepVerifier.create(directorsAbove(directorsService, 0L))
+                .expectNext(DirectorsResponse.of(List.of("Director A")))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetEncodedDirectorsAboveThreshold_ETagIdentifiesTheAnswer() {
+        DirectorTallyPage page = createDirectorTallyPage(
+                Arrays.asList(
+                        createMovieWithDirector("Woody Allen"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Woody Allen"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Martin Scorsese")),
+                1,
+                1);
+
+        when(moviesApiClient.fetchDirectorTallyPage(1)).thenReturn(Mono.just(page));
+
+        EncodedDirectorsResponse both = directorsService.getEncodedDirectorsAboveThreshold(1L).block();
+        EncodedDirectorsResponse alsoBoth = directorsService.getEncodedDirectorsAboveThreshold(0L).block();
+        EncodedDirectorsResponse one = directorsService.getEncodedDirectorsAboveThreshold(2L).block();
+
+        assertTrue(both.getETag().startsWith("W/\"") && both.getETag().endsWith("\""));
+        assertEquals(both.getETag(), alsoBoth.getETag());
+        assertNotEquals(both.getETag(), one.getETag());
+        assertFalse(both.getMaxAge().isNegative());
+        assertTrue(both.getMaxAge().compareTo(Duration.ofSeconds(240)) <= 0);
+    }
+
+    @Test
+    void testGetEncodedDirectorsAboveThreshold_ETagSurvivesASnapshotExportRoundTrip() {
+        DirectorCountSnapshot snapshot = DirectorCountSnapshot.of(
+                Map.of("Martin Scorsese", 3L, "Woody Allen", 2L),
+                1,
+                1,
+                Instant.now().truncatedTo(ChronoUnit.SECONDS).plusNanos(123_456_789));
+        DirectorsService source = serviceServing(snapshot);
+        DirectorsService replica = serviceServing(DirectorSnapshotCodec.decode(ByteBuffer.wrap(source.exportSnapshot().block())));
+
+        assertEquals(source.getEncodedDirectorsAboveThreshold(1L).block().getETag(),
+                replica.getEncodedDirectorsAboveThreshold(1L).block().getETag());
+    }
+
+    @Test
+    void testGetEncodedDirectorsAboveThreshold_ReusesTheEncodedBodyForARepeatedQuery() {
+        DirectorTallyPage page = createDirectorTallyPage(
+                Arrays.asList(
+                        createMovieWithDirector("Woody Allen"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Woody Allen"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Greta Gerwig")),
+                1,
+                1);
+
+        when(moviesApiClient.fetchDirectorTallyPage(1)).thenReturn(Mono.just(page));
+
+        byte[] first = directorsService.getEncodedDirectorsAboveThreshold(1L).block().getJson();
+        StepVerifier.create(directorsService.getEncodedDirectorsAboveThreshold(1L))
+                .assertNext(encoded -> {
+                    assertEquals("{\"directors\":[\"Martin Scorsese\",\"Woody Allen\"]}",
+                            new String(encoded.getJson(), StandardCharsets.UTF_8));
+                    assertSame(first, encoded.getJson());
+                    assertEquals(new CatalogCoverage(1, 1), encoded.getCoverage());
+                })
+                .verifyComplete();
+
+        StepVerifier.create(directorsService.getEncodedDirectorsAboveThreshold(2L))
+                .assertNext(encoded -> assertEquals("{\"directors\":[\"Martin Scorsese\"]}",
+                        new String(encoded.getJson(), StandardCharsets.UTF_8)))
+                .verifyComplete();
+
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(1);
+    }
+
+    @Test
+    void testStreamDirectorsAboveThreshold_EmitsDirectorsWithCountsInNameOrder() {
+        DirectorTallyPage page = createDirectorTallyPage(
+                Arrays.asList(
+                        createMovieWithDirector("Woody Allen"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Woody Allen"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Greta Gerwig")),
+                1,
+                1);
+
+        when(moviesApiClient.fetchDirectorTallyPage(1)).thenReturn(Mono.just(page));
+
+        StepVerifier.create(directorsService.streamDirectorsAboveThreshold(1L)
+                        .flatMapMany(stream -> {
+                            assertEquals(new CatalogCoverage(1, 1), stream.getCoverage());
+                            return stream.getDirectors();
+                        }))
+                .expectNext(DirectorCountResponse.of("Martin Scorsese", 3))
+                .expectNext(DirectorCountResponse.of("Woody Allen", 2))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetDirectorsAboveThresholds_AnswersEveryThresholdFromOneCrawl() {
+        DirectorTallyPage page = createDirectorTallyPage(
+                Arrays.asList(
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Woody Allen"),
+                        createMovieWithDirector("Woody Allen"),
+                        createMovieWithDirector("Greta Gerwig")),
+                1,
+                1);
+
+        when(moviesApiClient.fetchDirectorTallyPage(1)).thenReturn(Mono.just(page));
+
+        StepVerifier.create(directorsService.getDirectorsAboveThresholds(new long[] {2, 0, 1, 2}))
+                .assertNext(batch -> {
+                    assertEquals(List.of(2L, 0L, 1L), List.copyOf(batch.getDirectors().keySet()));
+                    assertEquals(List.of("Martin Scorsese"), batch.getDirectors().get(2L));
+                    assertEquals(List.of("Greta Gerwig", "Martin Scorsese", "Woody Allen"), batch.getDirectors().get(0L));
+                    assertEquals(List.of("Martin Scorsese", "Woody Allen"), batch.getDirectors().get(1L));
+                })
+                .verifyComplete();
+
+        verify(moviesApiClient, times(1)).fetchDirectorTallyPage(1);
+    }
+
+    @Test
+    void testGetTopDirectors_ReturnsMostProlificDirectorsWithCounts() {
+        DirectorTallyPage page = createDirectorTallyPage(
+                Arrays.asList(
+                        createMovieWithDirector("Woody Allen"),
+                        createMovieWithDirector("Martin Scorsese"),
+                        createMovieWithDirector("Woody Allen"),
+                        createMovieWithDirector("Greta Gerwig"),
+                        createMovieWithDirector("Woody Allen"),
+                        createMovieWithDirector("Sofia Coppola")),
+                1,
+                1);
+
+        when(moviesApiClient.fetchDirectorTallyPage(1)).thenReturn(Mono.just(page));
+
+        StepVerifier.create(directorsService.getTopDirectors(3))
+                .assertNext(top -> assertEquals(
+                        List.of(DirectorCountResponse.of("Woody Allen", 3),
+                                DirectorCountResponse.of("Greta Gerwig", 1),
+                                DirectorCountResponse.of("Martin Scorsese", 1)),
+                        top.getDirectors()))
+                .verifyComplete();
+    }
+
+    private DirectorTallyPage createDirectorTallyPage(
             List<Movie> data,
             int page,
             int totalPages) {
-        return MoviesPageResponse.builder()
-                .data(data)
+        DirectorTallyPage.Builder builder = DirectorTallyPage.builder(dictionary)
                 .page(page)
-                .perPage(Math.max(1, data != null ? data.size() : 0))
                 .total(data != null ? data.size() * totalPages : 0)
-                .totalPages(totalPages)
-                .build();
+                .totalPages(totalPages);
+        if (data != null) {
+            data.forEach(movie -> builder.addDirector(movie.getDirector()));
+        }
+        return builder.build();
     }
 
     private Movie createMovieWithDirector(String director) {
@@ -255,4 +507,37 @@ class DirectorsServiceTest {
                 .actors("Sample Actor")
                 .build();
     }
-}
\ No newline at end of file
+
+    private Mono<DirectorsResponse> directorsAbove(DirectorsService service, long threshold) {
+        return service.getEncodedDirectorsAboveThreshold(threshold).map(this::decode);
+    }
+
+    private DirectorsResponse decode(EncodedDirectorsResponse encoded) {
+        try {
+            return new ObjectMapper().readValue(encoded.getJson(), DirectorsResponse.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private DirectorsService serviceServing(DirectorCountSnapshot snapshot) {
+        DirectorSnapshotCache snapshotCache = new DirectorSnapshotCache(
+                new DirectorCountLoader(moviesApiClient, dictionary, concurrencyLimiter(), circuitBreaker(), false, 3600, new SimpleMeterRegistry()),
+                300,
+                new SimpleMeterRegistry());
+        snapshotCache.bootstrap(snapshot);
+        return new DirectorsServiceImpl(snapshotCache, responseCache(), 240);
+    }
+
+    private UpstreamCircuitBreaker circuitBreaker() {
+        return new UpstreamCircuitBreaker(5, 30, 1, new SimpleMeterRegistry());
+    }
+
+    private AdaptiveConcurrencyLimiter concurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter(5, 1, 32, 0.5, 2.0, new SimpleMeterRegistry());
+    }
+
+    private DirectorsResponseCache responseCache() {
+        return new DirectorsResponseCache(new ObjectMapper(), 1 << 20, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.movie_directors_service.unit.validation;
+
+import com.example.movie_directors_service.exception.InvalidParameterException;
+import com.example.movie_directors_service.validation.ThresholdValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ThresholdValidatorTest {
+
+    private final ThresholdValidator validator = new ThresholdValidator();
+
+    @Test
+    void parseAndValidateList_parsesCommaSeparatedThresholdsInRequestOrder() {
+        assertArrayEquals(new long[] {10, 1, 3, 3}, validator.parseAndValidateList(" 10,1 , 3,3"));
+        assertArrayEquals(new long[] {0}, validator.parseAndValidateList("0"));
+    }
+
+    @Test
+    void parseAndValidateList_rejectsEmptyNonNumericAndNegativeElements() {
+        assertEquals("Invalid value in parameter 'thresholds': 'abc' must be a valid number",
+                assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateList("1,abc,3")).getMessage());
+        assertEquals("Invalid value in parameter 'thresholds': '' must be a valid number",
+                assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateList("1,,3")).getMessage());
+        assertEquals("Threshold must be non-negative",
+                assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateList("1,-3")).getMessage());
+        assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateList("1,"));
+        assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateList("+"));
+        assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateList(" "));
+    }
+
+    @Test
+    void parseAndValidateList_acceptsTheSameSignsAsASingleThreshold() {
+        for (String threshold : new String[] {"+5", "5", "-0", "+0"}) {
+            assertArrayEquals(new long[] {validator.parseAndValidate(threshold)}, validator.parseAndValidateList(threshold));
+        }
+        for (String threshold : new String[] {"+", "-", "+-5", "++5", "5+"}) {
+            assertThrows(InvalidParameterException.class, () -> validator.parseAndValidate(threshold));
+            assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateList(threshold));
+        }
+        assertEquals(
+                assertThrows(InvalidParameterException.class, () -> validator.parseAndValidate("-5")).getMessage(),
+                assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateList("-5")).getMessage());
+    }
+
+    @Test
+    void parseAndValidateList_rejectsOverflowAndTooManyThresholds() {
+        assertArrayEquals(new long[] {Long.MAX_VALUE}, validator.parseAndValidateList(String.valueOf(Long.MAX_VALUE)));
+        assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateList("9223372036854775808"));
+
+        String tooMany = IntStream.rangeClosed(0, ThresholdValidator.MAX_THRESHOLDS)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+        assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateList(tooMany));
+    }
+
+    @Test
+    void parseAndValidateLimit_acceptsPositiveValuesAndClampsToIntRange() {
+        assertEquals(20, validator.parseAndValidateLimit(" 20 "));
+        assertEquals(Integer.MAX_VALUE, validator.parseAndValidateLimit("10000000000"));
+        assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateLimit("0"));
+        assertThrows(InvalidParameterException.class, () -> validator.parseAndValidateLimit("ten"));
+    }
+}
@@ -0,0 +1,111 @@
+package integration;
+
+import com.example.movie_directors_service.MovieDirectorsServiceApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import support.MoviesApiStub;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two instances of the service in one JVM: a running peer that has crawled {@link MoviesApiStub},
+ * and a new instance that bootstraps from the peer's {@code /api/directors/snapshot}.
+ */
+class PeerBootstrapIntegrationTests {
+
+	private static final MoviesApiStub STUB = MoviesApiStub.builder()
+			.totalPages(40)
+			.pageSize(10)
+			.directors(60)
+			.latency(MoviesApiStub.Latency.uniform(Duration.ofMillis(1), Duration.ofMillis(5)))
+			.start();
+
+	private ConfigurableApplicationContext peer;
+
+	// A peer per test: closing any instance disposes the Reactor Netty event loops the others run on.
+	@BeforeEach
+	void startPeer() {
+		peer = start("--movies.cache.refresh-enabled=false");
+		client(peer).get()
+				.uri("/api/directors?threshold=0")
+				.exchange()
+				.expectStatus().isOk();
+	}
+
+	@AfterEach
+	void stopPeer() {
+		peer.close();
+	}
+
+	@AfterAll
+	static void stopStub() {
+		STUB.close();
+	}
+
+	@Test
+	void newInstance_WhenPeerHasAFreshSnapshot_AnswersFromItWithoutCrawlingUpstream() {
+		String peerAnswer = directorsAbove(peer, 3);
+		long upstreamRequests = STUB.requestCount();
+
+		try (ConfigurableApplicationContext instance = start(
+				"--movies.cache.refresh-enabled=true",
+				"--movies.cache.peer-bootstrap.enabled=true",
+				"--movies.cache.peer-bootstrap.urls=" + baseUrl(peer) + "/api/directors/snapshot")) {
+
+			assertThat(directorsAbove(instance, 3)).isEqualTo(peerAnswer);
+			assertThat(STUB.requestCount()).isEqualTo(upstreamRequests);
+		}
+	}
+
+	@Test
+	void newInstance_WhenPeerIsUnavailable_CrawlsUpstream() {
+		String peerAnswer = directorsAbove(peer, 3);
+		long upstreamRequests = STUB.requestCount();
+
+		try (ConfigurableApplicationContext instance = start(
+				"--movies.cache.refresh-enabled=false",
+				"--movies.cache.peer-bootstrap.enabled=true",
+				"--movies.cache.peer-bootstrap.urls=http://127.0.0.1:1/api/api/directors/snapshot",
+				"--movies.cache.peer-bootstrap.timeout-millis=500")) {
+
+			assertThat(directorsAbove(instance, 3)).isEqualTo(peerAnswer);
+			assertThat(STUB.requestCount()).isGreaterThanOrEqualTo(upstreamRequests + 40);
+		}
+	}
+
+	private static ConfigurableApplicationContext start(String... args) {
+		String[] common = {"--server.port=0", "--movies.api.base-url=" + STUB.baseUrl()};
+		String[] all = new String[common.length + args.length];
+		System.arraycopy(common, 0, all, 0, common.length);
+		System.arraycopy(args, 0, all, common.length, args.length);
+		return new SpringApplicationBuilder(MovieDirectorsServiceApplication.class).run(all);
+	}
+
+	private static String directorsAbove(ConfigurableApplicationContext instance, long threshold) {
+		return new String(client(instance).get()
+				.uri("/api/directors?threshold={threshold}", threshold)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.returnResult()
+				.getResponseBodyContent());
+	}
+
+	private static WebTestClient client(ConfigurableApplicationContext instance) {
+		return WebTestClient.bindToServer()
+				.baseUrl(baseUrl(instance))
+				.build();
+	}
+
+	private static String baseUrl(ConfigurableApplicationContext instance) {
+		return "http://localhost:" + ((WebServerApplicationContext) instance).getWebServer().getPort() + "/api";
+	}
+}
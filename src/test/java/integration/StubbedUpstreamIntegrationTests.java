@@ -0,0 +1,136 @@
+package integration;
+
+import com.example.movie_directors_service.MovieDirectorsServiceApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import support.LoadGenerator;
+import support.MoviesApiStub;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the whole service, including the real {@code WebClient} and page decoder, against an
+ * embedded {@link MoviesApiStub} instead of the remote movies API.
+ */
+@SpringBootTest(classes = MovieDirectorsServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StubbedUpstreamIntegrationTests {
+
+	private static final MoviesApiStub STUB = MoviesApiStub.builder()
+			.totalPages(40)
+			.pageSize(10)
+			.directors(60)
+			.latency(MoviesApiStub.Latency.uniform(Duration.ofMillis(1), Duration.ofMillis(5)))
+			.start();
+
+	@LocalServerPort
+	private int port;
+
+	@DynamicPropertySource
+	static void upstream(DynamicPropertyRegistry registry) {
+		registry.add("movies.api.base-url", STUB::baseUrl);
+		registry.add("movies.cache.refresh-enabled", () -> "false");
+		// The stub's answers are smaller than the production threshold.
+		registry.add("server.compression.min-response-size", () -> "256B");
+	}
+
+	@AfterAll
+	static void stopStub() {
+		STUB.close();
+	}
+
+	@Test
+	void directorsEndpoint_WhenCrawlingTheStub_ReturnsDirectorsAboveThreshold() {
+		long threshold = 8;
+		List<String> expected = STUB.directorCounts().entrySet().stream()
+				.filter(entry -> entry.getValue() > threshold)
+				.map(Map.Entry::getKey)
+				.sorted()
+				.toList();
+		assertThat(expected).isNotEmpty();
+
+		WebTestClient.bindToServer()
+				.baseUrl("http://localhost:" + port + "/api")
+				.build()
+				.get()
+				.uri("/api/directors?threshold={threshold}", threshold)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.directors").isEqualTo(expected);
+		assertThat(STUB.requestCount()).isGreaterThanOrEqualTo(40);
+	}
+
+	@Test
+	void directorsEndpoint_WhenRevalidatingWithETag_ReturnsNotModified() {
+		WebTestClient client = WebTestClient.bindToServer()
+				.baseUrl("http://localhost:" + port + "/api")
+				.build();
+		String eTag = client.get()
+				.uri("/api/directors?threshold=1")
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueMatches(HttpHeaders.CACHE_CONTROL, "max-age=\\d+, public")
+				.returnResult(String.class)
+				.getResponseHeaders()
+				.getETag();
+		assertThat(eTag).startsWith("W/");
+
+		client.get()
+				.uri("/api/directors?threshold=1")
+				.header(HttpHeaders.IF_NONE_MATCH, eTag)
+				.exchange()
+				.expectStatus().isNotModified()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+				.expectBody().isEmpty();
+	}
+
+	@Test
+	void directorsEndpoint_WhenClientAcceptsGzip_CompressesTheBody() throws IOException, InterruptedException {
+		// The JDK client leaves Content-Encoding and the compressed body as they came.
+		HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+				HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/api/directors?threshold=0"))
+						.header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+						.build(),
+				HttpResponse.BodyHandlers.ofByteArray());
+
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+		assertThat(response.headers().allValues(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+		try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+			assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).startsWith("{\"directors\":[");
+		}
+	}
+
+	@Test
+	void loadGenerator_WhenDrivingDirectorsEndpoint_ReportsEveryRequest() {
+		LoadGenerator.LoadReport report = LoadGenerator.builder()
+				.requestsPerSecond(200)
+				.warmup(Duration.ofMillis(250))
+				.duration(Duration.ofSeconds(1))
+				.build()
+				.run(n -> URI.create("http://localhost:" + port + "/api/api/directors?threshold=" + n % 10));
+
+		assertThat(report.requests()).isEqualTo(200);
+		assertThat(report.errors()).isZero();
+		assertThat(report.p50()).isLessThanOrEqualTo(report.p99());
+		assertThat(report.p99()).isLessThanOrEqualTo(report.p999());
+	}
+}
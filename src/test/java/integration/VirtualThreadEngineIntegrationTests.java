@@ -0,0 +1,76 @@
+package integration;
+
+import com.example.movie_directors_service.MovieDirectorsServiceApplication;
+import com.example.movie_directors_service.client.MoviesSource;
+import com.example.movie_directors_service.client.VirtualThreadMoviesClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import support.MoviesApiStub;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the whole service with {@code movies.api.engine=virtual-threads} against an embedded
+ * {@link MoviesApiStub}.
+ */
+@SpringBootTest(classes = MovieDirectorsServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class VirtualThreadEngineIntegrationTests {
+
+	private static final MoviesApiStub STUB = MoviesApiStub.builder()
+			.totalPages(40)
+			.pageSize(10)
+			.directors(60)
+			.latency(MoviesApiStub.Latency.uniform(Duration.ofMillis(1), Duration.ofMillis(5)))
+			.start();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private MoviesSource moviesSource;
+
+	@DynamicPropertySource
+	static void upstream(DynamicPropertyRegistry registry) {
+		registry.add("movies.api.base-url", STUB::baseUrl);
+		registry.add("movies.api.engine", () -> "virtual-threads");
+		registry.add("movies.cache.refresh-enabled", () -> "false");
+	}
+
+	@AfterAll
+	static void stopStub() {
+		STUB.close();
+	}
+
+	@Test
+	void directorsEndpoint_WhenCrawlingWithVirtualThreadEngine_ReturnsDirectorsAboveThreshold() {
+		long threshold = 8;
+		List<String> expected = STUB.directorCounts().entrySet().stream()
+				.filter(entry -> entry.getValue() > threshold)
+				.map(Map.Entry::getKey)
+				.sorted()
+				.toList();
+		assertThat(expected).isNotEmpty();
+		assertThat(moviesSource).isInstanceOf(VirtualThreadMoviesClient.class);
+
+		WebTestClient.bindToServer()
+				.baseUrl("http://localhost:" + port + "/api")
+				.build()
+				.get()
+				.uri("/api/directors?threshold={threshold}", threshold)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.directors").isEqualTo(expected);
+		assertThat(STUB.requestCount()).isGreaterThanOrEqualTo(40);
+	}
+}
@@ -0,0 +1,186 @@
+package support;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Open-loop HTTP load generator: requests are started on a fixed schedule at the target rate
+ * whether or not earlier ones have finished, and each latency is measured from when the request
+ * was due rather than when it was actually sent. A slow server therefore shows up as higher
+ * latency instead of quietly lowering the offered load (coordinated omission).
+ */
+public final class LoadGenerator {
+
+    private final ConnectionProvider connections;
+    private final HttpClient httpClient;
+    private final int requestsPerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration timeout;
+
+    private LoadGenerator(Builder builder) {
+        this.connections = ConnectionProvider.builder("load-generator")
+                .maxConnections(builder.maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.httpClient = HttpClient.create(connections);
+        this.requestsPerSecond = builder.requestsPerSecond;
+        this.warmup = builder.warmup;
+        this.duration = builder.duration;
+        this.timeout = builder.timeout;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs the warm-up, whose results are discarded, then the measured phase, sending the
+     * {@code n}-th request of each phase to {@code uris.apply(n)}. A 2xx answer counts as a success.
+     * A generator runs once; its connections are released when this returns.
+     */
+    public LoadReport run(IntFunction<URI> uris) {
+        if (!warmup.isZero()) {
+            phase(uris, warmup);
+        }
+        try {
+            return phase(uris, duration);
+        } finally {
+            connections.disposeLater().block();
+        }
+    }
+
+    private LoadReport phase(IntFunction<URI> uris, Duration length) {
+        int total = (int) Math.max(1, length.toNanos() * requestsPerSecond / TimeUnit.SECONDS.toNanos(1));
+        long interval = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long[] latencies = new long[total];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch outstanding = new CountDownLatch(total);
+
+        long start = System.nanoTime();
+        for (int n = 0; n < total; n++) {
+            long due = start + n * interval;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            httpClient.get()
+                    .uri(uris.apply(n))
+                    .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+                    .timeout(timeout)
+                    .subscribe(status -> {
+                        if (status / 100 == 2) {
+                            latencies[recorded.getAndIncrement()] = System.nanoTime() - due;
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                        outstanding.countDown();
+                    }, error -> {
+                        errors.incrementAndGet();
+                        outstanding.countDown();
+                    });
+        }
+        try {
+            if (!outstanding.await(timeout.toMillis() + 1_000, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException(outstanding.getCount() + " requests still outstanding after the timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for outstanding requests", e);
+        }
+        long elapsed = System.nanoTime() - start;
+        return LoadReport.of(total, errors.get(), elapsed, Arrays.copyOf(latencies, recorded.get()), requestsPerSecond);
+    }
+
+    /**
+     * Outcome of one measured phase. Latencies cover successful requests only.
+     */
+    public record LoadReport(int targetRate, long requests, long errors, double throughput,
+                             Duration p50, Duration p99, Duration p999, Duration max) {
+
+        private static LoadReport of(long requests, long errors, long elapsedNanos, long[] latencies, int targetRate) {
+            Arrays.sort(latencies);
+            return new LoadReport(targetRate, requests, errors,
+                    (requests - errors) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    latencies.length == 0 ? Duration.ZERO : Duration.ofNanos(latencies[latencies.length - 1]));
+        }
+
+        private static Duration percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return Duration.ZERO;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+            return Duration.ofNanos(sorted[Math.max(0, rank)]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("target %d req/s, %d requests, %d errors, %.1f req/s, p50 %s, p99 %s, p999 %s, max %s",
+                    targetRate, requests, errors, throughput, millis(p50), millis(p99), millis(p999), millis(max));
+        }
+
+        private static String millis(Duration latency) {
+            return String.format("%.2fms", latency.toNanos() / 1_000_000.0);
+        }
+    }
+
+    public static final class Builder {
+
+        private int requestsPerSecond = 100;
+        private Duration warmup = Duration.ZERO;
+        private Duration duration = Duration.ofSeconds(10);
+        private Duration timeout = Duration.ofSeconds(10);
+        private int maxConnections = 512;
+
+        private Builder() {
+        }
+
+        public Builder requestsPerSecond(int requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+            return this;
+        }
+
+        public Builder warmup(Duration warmup) {
+            this.warmup = warmup;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * Per-request timeout; a request that runs past it counts as an error.
+         */
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder maxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        public LoadGenerator build() {
+            if (requestsPerSecond < 1) {
+                throw new IllegalArgumentException("requestsPerSecond must be positive");
+            }
+            return new LoadGenerator(this);
+        }
+    }
+}
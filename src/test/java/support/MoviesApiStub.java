@@ -0,0 +1,260 @@
+package support;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded stand-in for the external movies API, serving {@code GET /api/movies/search?page=N} from
+ * a synthetic catalog on a local port, so the service can be crawled and load-tested offline.
+ * <p>
+ * Page bodies are rendered once at start-up from a seeded random catalog, so the stub's own cost
+ * per request is a lookup and a write. Each response is held back by a delay drawn from the
+ * configured {@link Latency}, and a configurable fraction of requests fail with 503 after that delay.
+ */
+public final class MoviesApiStub implements AutoCloseable {
+
+    private final byte[][] pages;
+    private final byte[] emptyPage;
+    private final Map<String, Long> directorCounts;
+    private final Latency latency;
+    private final double errorRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final LoopResources loops;
+    private final DisposableServer server;
+
+    private MoviesApiStub(Builder builder) {
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.directorCounts = new HashMap<>();
+        this.pages = renderCatalog(builder, directorCounts);
+        this.emptyPage = renderPage(builder.totalPages + 1, builder, List.of()).getBytes(StandardCharsets.UTF_8);
+        // Own event loops: closing an application context in the same JVM disposes Reactor Netty's global ones.
+        this.loops = LoopResources.create("movies-api-stub", 2, true);
+        this.server = HttpServer.create()
+                .runOn(loops)
+                .host("127.0.0.1")
+                .port(builder.port)
+                .route(routes -> routes.get("/api/movies/search", this::search))
+                .bindNow();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Base URL to configure as {@code movies.api.base-url}.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    /**
+     * Movies per director over the whole catalog, for checking what the service computed.
+     */
+    public Map<String, Long> directorCounts() {
+        return Map.copyOf(directorCounts);
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    public long failureCount() {
+        return failures.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+        loops.dispose();
+    }
+
+    private Mono<Void> search(HttpServerRequest request, HttpServerResponse response) {
+        requests.incrementAndGet();
+        int page = pageOf(request.uri());
+        boolean fail = errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+        Mono<Void> reply = Mono.defer(() -> {
+            if (fail) {
+                failures.incrementAndGet();
+                return response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send();
+            }
+            byte[] body = page >= 1 && page <= pages.length ? pages[page - 1] : emptyPage;
+            return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                    .sendByteArray(Mono.just(body))
+                    .then();
+        });
+        Duration delay = latency.next(ThreadLocalRandom.current());
+        return delay.isZero() ? reply : Mono.delay(delay).then(reply);
+    }
+
+    private static int pageOf(String uri) {
+        List<String> values = new QueryStringDecoder(uri).parameters().get("page");
+        try {
+            return values == null || values.isEmpty() ? 1 : Integer.parseInt(values.get(0));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private static byte[][] renderCatalog(Builder builder, Map<String, Long> directorCounts) {
+        Random random = new Random(builder.seed);
+        byte[][] pages = new byte[builder.totalPages][];
+        String[] directors = new String[builder.pageSize];
+        for (int page = 1; page <= builder.totalPages; page++) {
+            for (int movie = 0; movie < builder.pageSize; movie++) {
+                // Long tail: a few directors are very prolific, most have one or two movies.
+                directors[movie] = "Director " + (int) (Math.pow(random.nextDouble(), 3) * builder.directors);
+                directorCounts.merge(directors[movie], 1L, Long::sum);
+            }
+            pages[page - 1] = renderPage(page, builder, List.of(directors)).getBytes(StandardCharsets.UTF_8);
+        }
+        return pages;
+    }
+
+    private static String renderPage(int page, Builder builder, List<String> directors) {
+        StringBuilder json = new StringBuilder(256 + directors.size() * 320)
+                .append("{\"page\":").append(page)
+                .append(",\"per_page\":").append(builder.pageSize)
+                .append(",\"total\":").append((long) builder.totalPages * builder.pageSize)
+                .append(",\"total_pages\":").append(builder.totalPages)
+                .append(",\"data\":[");
+        for (int movie = 0; movie < directors.size(); movie++) {
+            if (movie > 0) {
+                json.append(',');
+            }
+            int id = (page - 1) * builder.pageSize + movie;
+            json.append("{\"Title\":\"Movie ").append(id)
+                    .append("\",\"Year\":").append(1950 + id % 75)
+                    .append(",\"Rated\":\"PG-13\",\"Released\":\"01 Jan ").append(1950 + id % 75)
+                    .append("\",\"Runtime\":\"").append(80 + id % 90)
+                    .append(" min\",\"Genre\":\"Drama, Thriller\",\"Director\":\"").append(directors.get(movie))
+                    .append("\",\"Writer\":\"Writer ").append(id % 997)
+                    .append(", Writer ").append(id % 1009)
+                    .append("\",\"Actors\":\"Actor ").append(id % 4001)
+                    .append(", Actor ").append(id % 4003)
+                    .append(", Actor ").append(id % 4007)
+                    .append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Delay before each response.
+     */
+    @FunctionalInterface
+    public interface Latency {
+
+        Duration next(Random random);
+
+        static Latency none() {
+            return random -> Duration.ZERO;
+        }
+
+        static Latency fixed(Duration delay) {
+            return random -> delay;
+        }
+
+        static Latency uniform(Duration min, Duration max) {
+            long minNanos = min.toNanos();
+            long spread = max.toNanos() - minNanos;
+            return random -> Duration.ofNanos(minNanos + (long) (random.nextDouble() * spread));
+        }
+
+        /**
+         * Log-normal delays with the given median, where {@code p99} sets how heavy the tail is;
+         * closer to how a real upstream behaves than a uniform spread.
+         */
+        static Latency logNormal(Duration median, Duration p99) {
+            double mu = Math.log(median.toNanos());
+            // 2.326 is the standard normal quantile at 0.99.
+            double sigma = Math.max(0, Math.log((double) p99.toNanos() / median.toNanos()) / 2.326);
+            return random -> Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+        }
+    }
+
+    public static final class Builder {
+
+        private int port;
+        private int totalPages = 100;
+        private int pageSize = 10;
+        private int directors = 1_000;
+        private Latency latency = Latency.none();
+        private double errorRate;
+        private long seed = 1;
+
+        private Builder() {
+        }
+
+        /**
+         * Port to listen on; 0, the default, picks a free one.
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder totalPages(int totalPages) {
+            this.totalPages = totalPages;
+            return this;
+        }
+
+        public Builder pageSize(int pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Size of the pool movies draw their director from.
+         */
+        public Builder directors(int directors) {
+            this.directors = directors;
+            return this;
+        }
+
+        public Builder latency(Latency latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Fraction of requests, between 0 and 1, answered with 503.
+         */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public MoviesApiStub start() {
+            if (totalPages < 1 || pageSize < 1 || directors < 1) {
+                throw new IllegalArgumentException("totalPages, pageSize and directors must be positive");
+            }
+            if (errorRate < 0 || errorRate > 1) {
+                throw new IllegalArgumentException("errorRate must be between 0 and 1");
+            }
+            return new MoviesApiStub(this);
+        }
+    }
+}